@@ -0,0 +1,52 @@
+-- 기존 DB(init_data.sql로 만든 DB)에 순서대로 적용하는 변경 사항 모음
+-- 새로 만드는 DB는 docker-entrypoint-initdb.d 에서 init_data.sql 다음에 자동 실행됨
+
+-- =================================================================
+-- days: 백그라운드 날씨 갱신용 컬럼 추가
+-- =================================================================
+ALTER TABLE `days`
+    ADD COLUMN `weather_icon` VARCHAR(100) NULL AFTER `weather_temp`,
+    ADD COLUMN `weather_updated_at` DATETIME NULL AFTER `weather_icon`;
+
+-- =================================================================
+-- trips: 내 여행 목록 페이지 조회용 인덱스 (created_by로 거르고 start_date순으로 바로 읽음)
+-- =================================================================
+CREATE INDEX `idx_trips_created_by_start_date` ON `trips` (`created_by`, `start_date`);
+
+-- =================================================================
+-- trip_participants: 참여 중인 여행 목록 조회용 인덱스
+-- (user_id로 내 행만 거르고 role 필터까지 인덱스 안에서 처리, trips는 PK로 찾아가서 시작일순 정렬)
+-- =================================================================
+CREATE INDEX `idx_trip_participants_user_trip` ON `trip_participants` (`user_id`, `trip_id`, `role`);
+
+-- =================================================================
+-- days: 여행의 일부 날짜만 조회하는 API용 인덱스 (trip_id로 거르고 date 범위로 바로 찾음)
+-- =================================================================
+CREATE INDEX `idx_days_trip_date` ON `days` (`trip_id`, `date`);
+
+-- =================================================================
+-- revoked_tokens: 폐기된 refresh 토큰(jti)과 로그아웃한 세션(family) 목록
+-- 서버 시작 시 메모리로 읽어서 요청마다 DB 조회 없이 확인, 만료된 행은 주기적으로 삭제
+-- =================================================================
+CREATE TABLE IF NOT EXISTS `revoked_tokens` (
+    `token_id` VARCHAR(36) NOT NULL,
+    `kind` VARCHAR(10) NOT NULL,
+    `expires_at` DATETIME NOT NULL,
+    `revoked_at` DATETIME NOT NULL,
+    PRIMARY KEY (`token_id`),
+    KEY `idx_revoked_tokens_expires_at` (`expires_at`),
+    KEY `idx_revoked_tokens_revoked_at` (`revoked_at`)
+);
+
+-- =================================================================
+-- trips: 상세 페이지 캐시/ETag용 버전 컬럼
+-- 여행/Day/일정/노트/팁이 바뀌면 같은 트랜잭션에서 1씩 올림 -> 서버가 여러 대여도 같은 값을 봄
+-- =================================================================
+ALTER TABLE `trips`
+    ADD COLUMN `detail_version` BIGINT NOT NULL DEFAULT 0 AFTER `status`;
+
+-- =================================================================
+-- days: 날씨 갱신 시도 시각 (실패한 Day도 기록 -> 정상 Day의 갱신을 막지 않도록 뒤로 보냄)
+-- =================================================================
+ALTER TABLE `days`
+    ADD COLUMN `weather_attempted_at` DATETIME NULL AFTER `weather_updated_at`;
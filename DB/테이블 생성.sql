@@ -4,7 +4,7 @@ SET NAMES utf8mb4;
 
 -- 기존 테이블이 있다면 모두 삭제
 SET FOREIGN_KEY_CHECKS = 0;
-DROP TABLE IF EXISTS `cities`, `trip_preferences`, `trip_tips`, `trip_notes`, `schedule_feedbacks`, `schedules`, `days`, `trip_participants`, `trips`, `users`;
+DROP TABLE IF EXISTS `revoked_tokens`, `cities`, `trip_preferences`, `trip_tips`, `trip_notes`, `schedule_feedbacks`, `schedules`, `days`, `trip_participants`, `trips`, `users`;
 SET FOREIGN_key_checks = 1;
 
 -- =================================================================
@@ -36,8 +36,10 @@ CREATE TABLE `trips` (
     `country` VARCHAR(255),
     `admin_name` VARCHAR(255),
     `status` VARCHAR(50) DEFAULT 'PLANNED',
+    `detail_version` BIGINT NOT NULL DEFAULT 0, -- 상세 페이지 캐시/ETag용 버전 (변경과 같은 트랜잭션에서 증가)
     `created_by` BINARY(16) NOT NULL,
     PRIMARY KEY (`id`),
+    KEY `idx_trips_created_by_start_date` (`created_by`, `start_date`), -- 내 여행 목록 (created_by로 거르고 start_date순)
     FOREIGN KEY (`created_by`) REFERENCES `users`(`id`) ON DELETE CASCADE
 ) COMMENT '여행 기본 정보 테이블';
 
@@ -50,6 +52,7 @@ CREATE TABLE `trip_participants` (
     `role` VARCHAR(50) DEFAULT 'MEMBER',
     `joined_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     PRIMARY KEY (`trip_id`, `user_id`),
+    KEY `idx_trip_participants_user_trip` (`user_id`, `trip_id`, `role`), -- 참여 중인 여행 목록 (내 행 + role 필터)
     FOREIGN KEY (`trip_id`) REFERENCES `trips`(`id`) ON DELETE CASCADE,
     FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
 ) COMMENT '여행 참여자 정보 (Trips-Users Many-to-Many)';
@@ -65,7 +68,11 @@ CREATE TABLE `days` (
     `day_theme` VARCHAR(255),
     `weather_forecast` TEXT,
     `weather_temp` DECIMAL(5, 2),
+    `weather_icon` VARCHAR(100),
+    `weather_updated_at` DATETIME,
+    `weather_attempted_at` DATETIME,
     PRIMARY KEY (`id`),
+    KEY `idx_days_trip_date` (`trip_id`, `date`), -- 여행의 일부 날짜 조회 (date 범위)
     FOREIGN KEY (`trip_id`) REFERENCES `trips`(`id`) ON DELETE CASCADE
 ) COMMENT '여행의 각 날짜별 정보';
 
@@ -183,4 +190,17 @@ CREATE TABLE `cities` (
     `population` BIGINT,
     `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     PRIMARY KEY (`id`)
-) COMMENT '도시 정보';
\ No newline at end of file
+) COMMENT '도시 정보';
+
+-- =================================================================
+-- 11. revoked_tokens 테이블
+-- =================================================================
+CREATE TABLE `revoked_tokens` (
+    `token_id` VARCHAR(36) NOT NULL,
+    `kind` VARCHAR(10) NOT NULL,
+    `expires_at` DATETIME NOT NULL,
+    `revoked_at` DATETIME NOT NULL,
+    PRIMARY KEY (`token_id`),
+    KEY `idx_revoked_tokens_expires_at` (`expires_at`),
+    KEY `idx_revoked_tokens_revoked_at` (`revoked_at`)
+) COMMENT '폐기된 refresh 토큰(jti)과 로그아웃한 세션(family)';
@@ -2,8 +2,10 @@ package com.trip;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 날씨 백그라운드 갱신 등 @Scheduled 작업 활성화
 public class BackApplication {
 
 	public static void main(String[] args) {
@@ -1,16 +1,62 @@
 package com.trip.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.trip.util.CircuitBreaker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration // Spring의 설정 파일
 public class AppConfig {
 
+    // 외부 API마다 RestTemplate을 따로 만들어서 커넥션 풀, 타임아웃, 동시 호출 한도, 서킷 브레이커를 분리합니다.
+    // (날씨 API가 느려져도 OpenAI 호출에는 영향이 없도록)
+
     @Bean // 이 메소드가 반환하는 객체를 Spring의 '부품(Bean)'으로 등록하라는 의미입니다.
-    public RestTemplate restTemplate() {
-        // RestTemplate 객체를 생성해서 반환합니다.
-        // 이제 Spring은 'RestTemplate' 타입의 부품이 필요할 때마다 이 메소드를 호출하여 가져갑니다.
-        return new RestTemplate();
+    public RestTemplate weatherRestTemplate(
+            @Value("${outbound.weather.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${outbound.weather.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${outbound.weather.max-concurrent:20}") int maxConcurrent,
+            @Value("${outbound.weather.bulkhead-wait-ms:200}") long bulkheadWaitMs,
+            @Value("${outbound.weather.failure-threshold:5}") int failureThreshold,
+            @Value("${outbound.weather.open-ms:30000}") long openMs,
+            MeterRegistry meterRegistry) {
+        return buildRestTemplate("weather", connectTimeoutMs, readTimeoutMs, maxConcurrent, bulkheadWaitMs,
+                new CircuitBreaker(failureThreshold, openMs), meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate openAiRestTemplate(
+            @Value("${outbound.openai.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${outbound.openai.read-timeout-ms:90000}") long readTimeoutMs,
+            @Value("${outbound.openai.max-concurrent:10}") int maxConcurrent,
+            @Value("${outbound.openai.bulkhead-wait-ms:1000}") long bulkheadWaitMs,
+            @Value("${outbound.openai.failure-threshold:5}") int failureThreshold,
+            @Value("${outbound.openai.open-ms:60000}") long openMs,
+            MeterRegistry meterRegistry) {
+        return buildRestTemplate("openai", connectTimeoutMs, readTimeoutMs, maxConcurrent, bulkheadWaitMs,
+                new CircuitBreaker(failureThreshold, openMs), meterRegistry);
+    }
+
+    // JDK HttpClient는 인스턴스마다 자체 커넥션 풀(keep-alive)을 가지므로 API마다 하나씩 만듭니다.
+    private RestTemplate buildRestTemplate(String name, long connectTimeoutMs, long readTimeoutMs,
+            int maxConcurrent, long bulkheadWaitMs, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs)) // 연결 타임아웃
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs)); // 응답 타임아웃
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(
+                new OutboundGuardInterceptor(name, maxConcurrent, bulkheadWaitMs, circuitBreaker, meterRegistry));
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.trip.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+//오래 걸리는 백그라운드 작업용 스레드 풀 설정
+@Configuration
+public class AsyncConfig {
+
+	// AI 일정 생성 작업 전용 풀
+	// 작업 스레드 수와 대기열 크기를 제한해서, 요청이 몰려도 OpenAI 호출이 무한정 늘어나지 않게 함
+	// 대기열까지 꽉 차면 바로 거절(AbortPolicy) -> AiJobService에서 작업을 FAILED로 표시
+	@Bean
+	public ThreadPoolTaskExecutor aiJobExecutor(
+			@Value("${ai.jobs.workers:4}") int workers,
+			@Value("${ai.jobs.queue-capacity:100}") int queueCapacity,
+			MeterRegistry meterRegistry) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(workers);
+		executor.setMaxPoolSize(workers);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("ai-job-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+		// 대기 중인 작업 수 / 실행 중인 작업 수
+		meterRegistry.gauge("ai.jobs.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size());
+		meterRegistry.gauge("ai.jobs.active", executor, ThreadPoolTaskExecutor::getActiveCount);
+		return executor;
+	}
+
+	// AI 분할 모드에서 구간별 OpenAI 호출을 동시에 실행하는 풀
+	// AI 작업 스레드가 여기의 결과를 기다리므로 aiJobExecutor와 반드시 분리해야 함 (같은 풀이면 서로 기다리다 멈출 수 있음)
+	// 풀이 꽉 차면 작업 스레드가 직접 실행(CallerRunsPolicy) -> 느려질 뿐 실패하지 않음
+	@Bean
+	public ThreadPoolTaskExecutor aiFanOutExecutor(
+			@Value("${ai.fanout.workers:8}") int workers,
+			@Value("${ai.fanout.queue-capacity:50}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(workers);
+		executor.setMaxPoolSize(workers);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("ai-fanout-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	// 비밀번호 해시(BCrypt) 전용 풀 (로그인/회원가입)
+	// 요청 스레드에서 해시하면 로그인이 몰릴 때 모든 요청 스레드가 CPU를 잡고 있게 되므로 분리
+	// 스레드 수로 인증에 쓰는 CPU를 따로 정하고, 대기열이 꽉 차면 바로 거절(AbortPolicy) -> 503
+	@Bean
+	public ThreadPoolTaskExecutor passwordHashExecutor(
+			@Value("${auth.hash.workers:0}") int workers,
+			@Value("${auth.hash.queue-capacity:64}") int queueCapacity,
+			MeterRegistry meterRegistry) {
+		// 0이면 CPU 코어의 절반
+		int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("pw-hash-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+		meterRegistry.gauge("auth.hash.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size());
+		meterRegistry.gauge("auth.hash.active", executor, ThreadPoolTaskExecutor::getActiveCount);
+		return executor;
+	}
+}
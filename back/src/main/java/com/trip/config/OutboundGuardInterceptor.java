@@ -0,0 +1,148 @@
+package com.trip.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.trip.util.CircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+//외부 API 하나(날씨, OpenAI 등)마다 붙는 보호막
+//1.벌크헤드     : 동시에 호출 중인 요청 수를 제한 (꽉 차면 잠깐만 기다리고 거절)
+//2.서킷 브레이커 : 계속 실패하는 API는 잠깐 호출하지 않고 바로 거절
+//3.메트릭       : 호출 시간과 결과(성공/4xx/5xx/오류)를 outbound.requests 로 기록
+public class OutboundGuardInterceptor implements ClientHttpRequestInterceptor {
+
+	private final String clientName;
+	private final Semaphore bulkhead;
+	private final long bulkheadWaitMillis;
+	private final CircuitBreaker circuitBreaker;
+	private final MeterRegistry meterRegistry;
+	private final Counter circuitOpenRejections;
+	private final Counter bulkheadRejections;
+
+	public OutboundGuardInterceptor(String clientName, int maxConcurrent, long bulkheadWaitMillis,
+			CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+		this.clientName = clientName;
+		this.bulkhead = new Semaphore(maxConcurrent);
+		this.bulkheadWaitMillis = bulkheadWaitMillis;
+		this.circuitBreaker = circuitBreaker;
+		this.meterRegistry = meterRegistry;
+		this.circuitOpenRejections = Counter.builder("outbound.rejected")
+				.tag("client", clientName).tag("reason", "circuit_open").register(meterRegistry);
+		this.bulkheadRejections = Counter.builder("outbound.rejected")
+				.tag("client", clientName).tag("reason", "bulkhead_full").register(meterRegistry);
+		meterRegistry.gauge("outbound.circuit.state", Tags.of("client", clientName),
+				circuitBreaker, cb -> cb.getState().ordinal()); // 0=CLOSED, 1=OPEN, 2=HALF_OPEN
+		meterRegistry.gauge("outbound.bulkhead.available", Tags.of("client", clientName),
+				bulkhead, Semaphore::availablePermits);
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		//1.동시 호출 수 제한 (꽉 차 있으면 잠깐만 기다리고 거절)
+		try {
+			if (!bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS)) {
+				bulkheadRejections.increment();
+				throw new OutboundUnavailableException(clientName + " API 동시 호출 한도를 초과했습니다.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OutboundUnavailableException(clientName + " API 호출 대기 중 인터럽트되었습니다.");
+		}
+		//2.서킷이 열려 있으면 바로 거절
+		if (!circuitBreaker.allowRequest()) {
+			bulkhead.release();
+			circuitOpenRejections.increment();
+			throw new OutboundUnavailableException(clientName + " API 서킷이 열려 있어 호출을 건너뜁니다.");
+		}
+
+		long startNanos = System.nanoTime();
+		try {
+			ClientHttpResponse response = execution.execute(request, body);
+			HttpStatusCode status = response.getStatusCode();
+			if (status.is5xxServerError()) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+			String outcome = status.is2xxSuccessful() ? "success" : status.is4xxClientError() ? "client_error" : "server_error";
+			// 응답 본문을 다 읽고 close 될 때 벌크헤드를 반납하고 시간을 기록 (스트리밍 응답도 포함)
+			return new GuardedResponse(response, startNanos, outcome);
+		} catch (IOException | RuntimeException e) {
+			// 타임아웃, 연결 실패 등
+			circuitBreaker.recordFailure();
+			bulkhead.release();
+			record(startNanos, "error");
+			throw e;
+		}
+	}
+
+	private void record(long startNanos, String outcome) {
+		Timer.builder("outbound.requests")
+				.tag("client", clientName)
+				.tag("outcome", outcome)
+				.register(meterRegistry)
+				.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	// close 시점에 한 번만 벌크헤드 반납 + 메트릭 기록을 하도록 감싼 응답
+	private class GuardedResponse implements ClientHttpResponse {
+		private final ClientHttpResponse delegate;
+		private final long startNanos;
+		private final String outcome;
+		private final AtomicBoolean closed = new AtomicBoolean(false);
+
+		GuardedResponse(ClientHttpResponse delegate, long startNanos, String outcome) {
+			this.delegate = delegate;
+			this.startNanos = startNanos;
+			this.outcome = outcome;
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return delegate.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return delegate.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return delegate.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return delegate.getBody();
+		}
+
+		@Override
+		public void close() {
+			try {
+				delegate.close();
+			} finally {
+				if (closed.compareAndSet(false, true)) {
+					bulkhead.release();
+					record(startNanos, outcome);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.trip.config;
+
+import org.springframework.web.client.RestClientException;
+
+//서킷이 열려 있거나 동시 호출 한도(bulkhead)가 꽉 차서 외부 API를 호출하지 않고 바로 거절했을 때 발생
+//RestClientException을 상속하므로 기존의 catch 블록에서 그대로 처리됨
+public class OutboundUnavailableException extends RestClientException {
+
+	public OutboundUnavailableException(String message) {
+		super(message);
+	}
+}
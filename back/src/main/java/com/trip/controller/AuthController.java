@@ -2,6 +2,7 @@ package com.trip.controller;
 //Controller : 클라이언트의 URL을 보고 요청을 받아 Service에 전달함
 //인증 관련 컨트롤러
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -29,12 +30,6 @@ public class AuthController {
 	// 2. @Valid: DTO에 적어둔 @NotBlank, @Email 같은 조건이 맞는지 검사
 	@PostMapping("/signup") //클라이언트가 해당 주소로 회원가입 정보(JSON)를 보냄
 	public ResponseEntity<AuthDto.UserResponse> signup(@RequestBody @Valid AuthDto.SignupRequest request){
-		// [추가] 콘솔에 찍어보기 (서버 로그 창 확인)
-	    System.out.println("============== 데이터 확인 ==============");
-	    System.out.println("이메일: " + request.getEmail());
-	    System.out.println("비번: " + request.getPassword());
-	    System.out.println("========================================");
-		
 		AuthDto.UserResponse response = authService.signup(request); //Controller -> Service(회원가입 함수 실행)
 		return ResponseEntity.ok(response); //Service -> Controller 
 	}
@@ -45,4 +40,21 @@ public class AuthController {
 		AuthDto.UserResponse response = authService.login(request);
 		return ResponseEntity.ok(response);
 	}
+	
+	//토큰 재발급 API (access 토큰이 만료되면 refresh 토큰으로 새 토큰 한 쌍을 받음)
+	@PostMapping("/refresh")
+	public ResponseEntity<AuthDto.UserResponse> refresh(@RequestBody AuthDto.RefreshRequest request){
+		try {
+			return ResponseEntity.ok(authService.refresh(request));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build(); // 만료/폐기/재사용된 토큰 -> 다시 로그인
+		}
+	}
+	
+	//로그아웃 API (이 세션의 access/refresh 토큰을 모두 폐기)
+	@PostMapping("/logout")
+	public ResponseEntity<Void> logout(@RequestBody AuthDto.RefreshRequest request){
+		authService.logout(request);
+		return ResponseEntity.noContent().build();
+	}
 }
\ No newline at end of file
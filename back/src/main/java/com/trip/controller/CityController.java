@@ -1,6 +1,7 @@
 package com.trip.controller;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -9,25 +10,68 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.trip.dto.CityDto;
 import com.trip.entity.City;
-import com.trip.repository.CityRepository;
+import com.trip.service.CityIndex;
+import com.trip.util.CityKdTree;
 
 @RestController
 @RequestMapping("/api/cities")
 public class CityController {
-	private final CityRepository cityRepository;
+	private final CityIndex cityIndex;
 	
 	@Autowired
-	public CityController(CityRepository cityRepository) {
-		this.cityRepository = cityRepository;
+	public CityController(CityIndex cityIndex) {
+		this.cityIndex = cityIndex;
 	}
 	
 	@GetMapping
 	public ResponseEntity<List<City>> searchCities(
 			//프론트에서 보낸 url에서 '?q=' 뒤의 값을 query라는 변수에 담음
-			@RequestParam("q") String query){
-		//findByCityStartingWithIgnoreCase(query)함수를 이용해서 해당값들을 찾아내서 cities 객체에 담음
-		List<City> cities = cityRepository.findByCityStartingWithIgnoreCase(query);
+			@RequestParam("q") String query,
+			@RequestParam(required = false) String country,
+			@RequestParam(defaultValue = "10") int limit){
+		//메모리 색인에서 query와 비슷한 도시(접두어, 오타, 한글 별칭)를 점수/인구 순으로 limit개 찾음 (DB 조회 없음)
+		List<City> cities = cityIndex.search(query, country, limit);
 		return ResponseEntity.ok(cities);
 	}
+	
+	//좌표에서 가까운 도시 목록 (예: /api/cities/nearby?lat=37.56&lng=126.97&limit=5)
+	@GetMapping("/nearby")
+	public ResponseEntity<List<CityDto.NearbyCity>> nearbyCities(
+			@RequestParam double lat,
+			@RequestParam double lng,
+			@RequestParam(defaultValue = "5") int limit){
+		if (!isValidPoint(lat, lng)) return ResponseEntity.badRequest().build();
+		return ResponseEntity.ok(toNearby(cityIndex.nearest(lat, lng, limit)));
+	}
+	
+	//좌표에서 반경 radiusKm 이내의 도시 목록 (가까운 순)
+	@GetMapping("/within")
+	public ResponseEntity<List<CityDto.NearbyCity>> citiesWithin(
+			@RequestParam double lat,
+			@RequestParam double lng,
+			@RequestParam double radiusKm,
+			@RequestParam(defaultValue = "20") int limit){
+		if (!isValidPoint(lat, lng) || radiusKm < 0) return ResponseEntity.badRequest().build();
+		return ResponseEntity.ok(toNearby(cityIndex.within(lat, lng, radiusKm, limit)));
+	}
+	
+	//좌표가 속한 도시 (근처에 도시가 없으면 404)
+	@GetMapping("/locate")
+	public ResponseEntity<CityDto.NearbyCity> locateCity(
+			@RequestParam double lat,
+			@RequestParam double lng){
+		if (!isValidPoint(lat, lng)) return ResponseEntity.badRequest().build();
+		CityKdTree.Hit hit = cityIndex.locate(lat, lng);
+		return hit != null ? ResponseEntity.ok(new CityDto.NearbyCity(hit)) : ResponseEntity.notFound().build();
+	}
+	
+	private boolean isValidPoint(double lat, double lng) {
+		return lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+	}
+	
+	private List<CityDto.NearbyCity> toNearby(List<CityKdTree.Hit> hits) {
+		return hits.stream().map(CityDto.NearbyCity::new).collect(Collectors.toList());
+	}
 }
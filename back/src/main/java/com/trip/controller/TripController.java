@@ -1,11 +1,16 @@
 package com.trip.controller;
 //인증된 사용자를 넘긴 후, 여행 정보 작성하는 서비스와 연결 
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,58 +19,176 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.trip.dto.AiDto;
 import com.trip.dto.TripDto;
-import com.trip.entity.Trip;
-import com.trip.entity.User;
 import com.trip.security.CustomUserDetails;
+import com.trip.service.AiJob;
+import com.trip.service.AiJobService;
 import com.trip.service.TripService;
 
 @RestController
 @RequestMapping("/api/trips")
 public class TripController {
+	private static final int DEFAULT_PAGE_SIZE = 50;
+	private static final int MAX_PAGE_SIZE = 100;
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
 	private final TripService tripService;
+	private final AiJobService aiJobService;
 	
 	@Autowired
-	public TripController(TripService tripService) {
+	public TripController(TripService tripService, AiJobService aiJobService) {
 		this.tripService = tripService;
+		this.aiJobService = aiJobService;
 	}
 	
 	//여행 생성 API
 	@PostMapping
 	public ResponseEntity<TripDto.TripResponse> createTrip(
 			@RequestBody TripDto.TripRequest request,
-			@AuthenticationPrincipal UserDetails userDetails){
-		TripDto.TripResponse response = tripService.createTrip(request, userDetails.getUsername());
+			@AuthenticationPrincipal CustomUserDetails userDetails){
+		TripDto.TripResponse response;
+		try {
+			response = tripService.createTrip(request, userDetails.getId(), userDetails.getUsername());
+		} catch (NoSuchElementException e) { // 토큰은 유효하지만 사용자가 탈퇴함
+			return ResponseEntity.notFound().build();
+		}
 		
 		return ResponseEntity.ok(response);
 	}
 	
-	//내 여행 목록 가져오는 API
+	//내 여행 목록 가져오는 API (시작일 최신순, 한 번에 size개)
+	//다음 페이지가 있으면 X-Next-Cursor 헤더로 커서를 내려줌 -> ?cursor=값 으로 다음 페이지 요청
+	//(응답 본문은 기존과 같은 여행 배열)
 	@GetMapping("/my")
 	public ResponseEntity<List<TripDto.TripResponse>> getMyTrips(
-			@AuthenticationPrincipal CustomUserDetails userDetails) {
-        // 현재 로그인된 사용자의 정보를 통째로 가져옵니다.
-        User currentUser = userDetails.getUser();
-        
-        // TripService를 통해 해당 사용자가 생성한 여행 목록을 조회합니다.
-        List<Trip> myTrips = tripService.findTripsByUser(currentUser);
-        
-        // 조회된 엔티티 목록을 응답용 DTO 목록으로 변환합니다.
-        List<TripDto.TripResponse> response = myTrips.stream()
-                .map(TripDto.TripResponse::new) // .map(trip -> new TripDto.TripResponse(trip)) 과 동일
-                .collect(Collectors.toList());
+			@AuthenticationPrincipal CustomUserDetails userDetails,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        // 카드에 필요한 값만, 한 페이지만 조회합니다.
+        TripDto.TripPage<TripDto.TripResponse> page;
+        try {
+            page = tripService.findTripPageByUser(userDetails.getId(), cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 커서
+        }
         
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getTrips());
     }
 	
+	//내가 참여한 여행 목록 API (만든 여행 + 초대받은 여행)
+	//?role=ADMIN 처럼 역할로 거를 수 있고, 페이지 이동은 /my와 같이 X-Next-Cursor 헤더 + ?cursor=
+	@GetMapping("/participating")
+	public ResponseEntity<List<TripDto.ParticipatingTripResponse>> getParticipatingTrips(
+			@AuthenticationPrincipal CustomUserDetails userDetails,
+			@RequestParam(required = false) String role,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+		TripDto.TripPage<TripDto.ParticipatingTripResponse> page;
+		try {
+			page = tripService.findParticipatingTrips(userDetails.getId(), role, cursor,
+					Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build(); // 잘못된 커서
+		}
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.getNextCursor() != null) {
+			response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+		}
+		return response.body(page.getTrips());
+	}
+	
 	//여행 상세정보를 가져오는 API
+	//응답에 ETag(여행 버전)를 붙이고, 클라이언트가 If-None-Match로 같은 값을 보내면 304 (본문 없음)
+	//-> 바뀐 게 없으면 버전(trips.detail_version) 하나만 PK로 읽고 상세 조회는 하지 않음
     @GetMapping("/{tripId}")
-    public ResponseEntity<TripDto.TripDetailResponse> getTripDetail(
-            @PathVariable UUID tripId) {
-        //getTripDetail 함수로 상세 정보를 조회하고 DTO로 가공
-        TripDto.TripDetailResponse response = tripService.getTripDetail(tripId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getTripDetail(
+            @PathVariable UUID tripId,
+            WebRequest webRequest) {
+        String version = tripService.getTripVersion(tripId);
+        String etag = "\"" + version + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        //getTripDetailJson 함수로 상세 정보를 조회하고 JSON으로 가공 (같은 버전이면 캐시 사용)
+        byte[] body = tripService.getTripDetailJson(tripId, version);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache()) // 브라우저도 매번 ETag로 확인하도록
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    //여행의 일부 날짜만 가져오는 API (예: /api/trips/{tripId}/days?from=2025-12-11&to=2025-12-12)
+    //to가 없으면 from 하루만, 날씨/헤더는 weather=true, header=true 일 때만 포함
+    @GetMapping("/{tripId}/days")
+    public ResponseEntity<TripDto.DayWindowResponse> getTripDays(
+            @PathVariable UUID tripId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean weather,
+            @RequestParam(defaultValue = "false") boolean header) {
+        try {
+            return ResponseEntity.ok(tripService.getTripDays(tripId, from, to, weather, header));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // from > to
+        }
+    }
+    
+    //AI 일정 생성 작업의 진행 상태를 가져오는 API (여행 생성 후 프론트에서 주기적으로 조회)
+    @GetMapping("/{tripId}/ai-job")
+    public ResponseEntity<AiDto.JobStatusResponse> getAiJobStatus(
+            @PathVariable UUID tripId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        AiJob job = aiJobService.getJob(tripId);
+        //작업이 없거나(AI 미사용, 오래되어 정리됨) 다른 사용자의 작업이면 404
+        if (job == null || !job.getUserEmail().equals(userDetails.getUsername())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new AiDto.JobStatusResponse(job));
+    }
+    
+    //AI 일정 생성 다시 요청 API (작업이 실패했거나 서버 재시작 등으로 사라진 경우, 내 여행만)
+    //AI 일정이 아직 없는 날짜만 다시 생성 -> 진행 상태는 GET /ai-job 으로 확인
+    //404: 여행이 없거나 AI를 쓰지 않은 여행, 409: 이미 진행 중이거나 다시 만들 날짜가 없음, 503: 대기열이 가득 참
+    @PostMapping("/{tripId}/ai-job")
+    public ResponseEntity<AiDto.JobStatusResponse> retryAiJob(
+            @PathVariable UUID tripId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        AiJob job;
+        try {
+            job = tripService.retryAiJob(tripId, userDetails.getId(), userDetails.getUsername());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (job.getStatus() == AiJob.Status.FAILED) { // 등록하자마자 실패 -> 대기열이 가득 참
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new AiDto.JobStatusResponse(job));
+        }
+        return ResponseEntity.accepted().body(new AiDto.JobStatusResponse(job));
+    }
+    
+    //AI 일정 생성 진행 상황을 SSE로 받는 API
+    //이벤트: status(작업 상태), day(저장된 하루치 일정)
+    @GetMapping(value = "/{tripId}/ai-job/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAiJob(
+            @PathVariable UUID tripId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        AiJob job = aiJobService.getJob(tripId);
+        if (job == null || !job.getUserEmail().equals(userDetails.getUsername())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(aiJobService.subscribe(job));
     }
 }
@@ -1,17 +1,24 @@
 package com.trip.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.trip.service.AiJob;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 
 public class AiDto {
 	// OpenAI에게 보낼 요청
     @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL) // stream이 null이면 요청 JSON에서 빠짐
     public static class ChatRequest {
         private String model;
         private List<Message> messages;
         private ResponseFormat response_format;
+        private Boolean stream; // true면 응답을 조각(SSE)으로 받음
 
         public ChatRequest(String model, String prompt) {
             this.model = model;
@@ -47,6 +54,23 @@ public class AiDto {
         private Message message;
     }
 
+    // 스트리밍 응답의 조각 하나 (data: {...})
+    @Data
+    public static class ChatStreamChunk {
+        private List<StreamChoice> choices;
+    }
+
+    @Data
+    public static class StreamChoice {
+        private Delta delta;
+        private String finish_reason;
+    }
+
+    @Data
+    public static class Delta {
+        private String content; // 새로 생성된 텍스트 조각
+    }
+
     // AI가 뱉어낸 JSON 문자열을 파싱할 객체 (스케줄 구조)
     @Data
     public static class AiScheduleResult {
@@ -69,4 +93,24 @@ public class AiDto {
         private Double lng;
     }
 
+    // AI 일정 생성 작업 상태 응답 (GET /api/trips/{tripId}/ai-job)
+    @Getter
+    public static class JobStatusResponse {
+        private String tripId;
+        private String status;        // QUEUED, RUNNING, DONE, FAILED
+        private int completedDays;    // 일정이 저장된 날짜 수
+        private int totalDays;
+        private String error;         // FAILED 일 때 실패 사유
+        private LocalDateTime updatedAt;
+
+        public JobStatusResponse(AiJob job) {
+            this.tripId = job.getTripId().toString();
+            this.status = job.getStatus().name();
+            this.completedDays = job.getCompletedDays();
+            this.totalDays = job.getTotalDays();
+            this.error = job.getError();
+            this.updatedAt = job.getUpdatedAt();
+        }
+    }
+
 }
@@ -42,6 +42,14 @@ public class AuthDto {
 		private String password;		
 	}
 	
+	// 토큰 재발급/로그아웃 요청 DTO
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	public static class RefreshRequest{
+		private String refreshToken;
+	}
+	
 	// 응답 DTO
 	@Getter
 	public static class UserResponse{
@@ -50,6 +58,7 @@ public class AuthDto {
 		private String email;
 		private String name;
 		private String token; //JWT 설정 후, 토큰을 담아서 보낼 변수 추가
+		private String refreshToken; //access 토큰이 만료되면 /api/auth/refresh로 보내서 새 토큰을 받음 (받을 때마다 교체)
 		
 		//조회용 생성자
 		//DB에서 꺼낸 User 객체를 response DTO에 담는 작업(Entity -> DTO 변환기)
@@ -66,6 +75,12 @@ public class AuthDto {
 			this.token = token; //받아온 토큰 저장 부분 추가
 		}
 		
+		//로그인/토큰 재발급용 생성자
+		public UserResponse(User user, String token, String refreshToken) {
+			this(user, token);
+			this.refreshToken = refreshToken;
+		}
+		
 	}
 
 }
@@ -0,0 +1,34 @@
+package com.trip.dto;
+
+import java.math.BigDecimal;
+
+import com.trip.entity.City;
+import com.trip.util.CityKdTree;
+
+import lombok.Getter;
+
+public class CityDto {
+
+	// 주변 도시 조회 응답 (도시 정보 + 기준점으로부터의 거리)
+	@Getter
+	public static class NearbyCity {
+		private Long id;
+		private String city;
+		private String country;
+		private BigDecimal lat;
+		private BigDecimal lng;
+		private Long population;
+		private double distanceKm;
+
+		public NearbyCity(CityKdTree.Hit hit) {
+			City city = hit.city();
+			this.id = city.getId();
+			this.city = city.getCity();
+			this.country = city.getCountry();
+			this.lat = city.getLat();
+			this.lng = city.getLng();
+			this.population = city.getPopulation();
+			this.distanceKm = Math.round(hit.distanceKm() * 10) / 10.0; // 소수점 한 자리
+		}
+	}
+}
@@ -7,11 +7,13 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.trip.entity.Schedule;
 import com.trip.entity.Trip;
 import com.trip.entity.TripNote;
 import com.trip.entity.TripTip;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -57,6 +59,7 @@ public class TripDto {
 	//여행 목록페이지에 필요한 정보 응답 DTO
 	@Setter
 	@Getter
+	@NoArgsConstructor
 	public static class TripResponse{
 	    private String id; // 필수 정보: 상세 페이지 이동 등에 사용
 	    // 화면 표시에 사용되는 기본 정보들
@@ -79,6 +82,22 @@ public class TripDto {
 	    }
 	}
 	
+	//참여 중인 여행 목록 카드 (여행 정보 + 내 역할)
+	@Setter
+	@Getter
+	@NoArgsConstructor
+	public static class ParticipatingTripResponse extends TripResponse {
+	    private String role; // ADMIN(만든 사람), MEMBER 등
+	}
+	
+	//여행 목록 한 페이지 (nextCursor가 null이면 마지막 페이지)
+	@Getter
+	@AllArgsConstructor
+	public static class TripPage<T extends TripResponse> {
+	    private List<T> trips;
+	    private String nextCursor;
+	}
+	
 	//여행 상세 페이지에 사용되는 모든 정보
 	@Getter
 	@Setter
@@ -91,6 +110,18 @@ public class TripDto {
         private List<TipDto> tripTips;   // [추가]
 	}
 
+	//여행의 일부 날짜만 조회한 결과 (GET /api/trips/{tripId}/days)
+	//헤더는 요청했을 때만 포함 (없으면 JSON에서 빠짐)
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class DayWindowResponse {
+		private String tripId;
+		private TripHeaderInfo tripHeaderInfo;
+		private List<DailyScheduleData> scheduleData;
+	}
+
 	//상세 페이지의 헤더(TripHeader.tsx)에 필요한 정보
     @Getter
     @Setter
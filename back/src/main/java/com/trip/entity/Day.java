@@ -2,12 +2,15 @@ package com.trip.entity;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import org.hibernate.annotations.UuidGenerator;
 
+import com.trip.util.TimeOrderedUuidGenerator;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -35,6 +38,7 @@ import lombok.Setter;
 public class Day {
 	@Id
     @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     @Column(name = "id", columnDefinition = "BINARY(16)")
 	private UUID id;
 	
@@ -56,6 +60,15 @@ public class Day {
 
     @Column(name = "weather_temp", precision = 5, scale = 2)
     private BigDecimal weatherTemp;
+
+    @Column(name = "weather_icon")
+    private String weatherIcon; // 날씨 아이콘 이름 (예: 'partly-cloudy-day')
+
+    @Column(name = "weather_updated_at")
+    private LocalDateTime weatherUpdatedAt; // 날씨를 마지막으로 갱신한 시각 (백그라운드 갱신용)
+
+    @Column(name = "weather_attempted_at")
+    private LocalDateTime weatherAttemptedAt; // 마지막으로 갱신을 시도한 시각 (실패해도 기록 -> 실패한 Day가 대상 목록 앞을 계속 차지하지 않도록)
     
     @OneToMany(mappedBy = "day", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Schedule> schedules = new ArrayList<>();
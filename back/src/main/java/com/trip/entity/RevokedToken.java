@@ -0,0 +1,32 @@
+package com.trip.entity;
+
+import java.sql.Timestamp;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+//폐기된 토큰 목록 (refresh 토큰 한 개(jti) 또는 로그인 세션 전체(family))
+//만료 시각이 지나면 토큰 자체가 무효이므로 행도 지움 -> 테이블은 작게 유지됨
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+public class RevokedToken {
+
+    public static final String KIND_TOKEN = "TOKEN";
+    public static final String KIND_FAMILY = "FAMILY";
+
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId; // refresh 토큰의 jti 또는 세션(family) id
+
+    @Column(length = 10, nullable = false)
+    private String kind;
+
+    @Column(name = "expires_at", nullable = false)
+    private Timestamp expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Timestamp revokedAt;
+}
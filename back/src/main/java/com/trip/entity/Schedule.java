@@ -5,6 +5,9 @@ import java.time.LocalTime;
 import java.util.UUID;
 
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
+
+import com.trip.util.TimeOrderedUuidGenerator;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -33,6 +36,7 @@ import lombok.Setter;
 
 		@Id
 	    @GeneratedValue
+	    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
 	    @Column(name = "id", columnDefinition = "BINARY(16)")
 	    private UUID id;
 
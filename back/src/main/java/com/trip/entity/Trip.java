@@ -9,6 +9,9 @@ import java.util.UUID;
 
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.UuidGenerator;
+
+import com.trip.util.TimeOrderedUuidGenerator;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -39,6 +42,7 @@ public class Trip {
 	
 	@Id
     @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     @Column(name = "id", columnDefinition = "BINARY(16)")
     private UUID id;
 	
@@ -62,6 +66,11 @@ public class Trip {
 	@ColumnDefault("PLANNED") //해당컬럼의 디폴트 값 설정(PLANNED)
 	private String status;
 	
+	// 상세 페이지 캐시/ETag용 버전 (여행, Day, 일정, 노트, 팁이 바뀔 때 같은 트랜잭션에서 DB가 직접 올림)
+	// 엔티티 저장으로는 쓰지 않음 -> 메모리의 오래된 값으로 덮어써서 버전이 되돌아가지 않도록
+	@Column(name = "detail_version", insertable = false, updatable = false)
+	private long detailVersion;
+	
 	//비행정보(Text 타입)
 	@Column(name="flight_out_dept")
 	private LocalDateTime flightOutDept; 
@@ -8,6 +8,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
 import com.trip.util.JsonListConverter;
+import com.trip.util.TimeOrderedUuidGenerator;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
@@ -35,6 +36,7 @@ public class TripPreference {
 	
 	@Id
 	@GeneratedValue
+	@UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
 	@Column(name = "id", columnDefinition = "BINARY(16)")
 	private UUID id;
 	
@@ -2,6 +2,11 @@ package com.trip.entity;
 
 import java.sql.Timestamp;
 import java.util.UUID;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import com.trip.util.TimeOrderedUuidGenerator;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +19,7 @@ public class TripTip {
 
     @Id
     @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     @Column(name = "id", columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -3,6 +3,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.UuidGenerator;
+
+import com.trip.util.TimeOrderedUuidGenerator;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -24,6 +28,7 @@ public class User {
 
     @Id // 이 필드가 테이블의 Primary Key(기본 키)임을 명시
     @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     @Column(name = "id", columnDefinition = "BINARY(16)") // MySQL에서 UUID를 효율적으로 저장하기 위한 설정
     private UUID id;
 
@@ -1,6 +1,7 @@
 package com.trip.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.trip.entity.City;
 import java.util.List;
@@ -10,4 +11,14 @@ public interface CityRepository extends JpaRepository<City, Long>{
 
 	//city 필드의 값이 특정 문자열(query)로 시작하는 모든 도시를 대소문자 구분 없이 찾아달라는 쿼리
 	List<City> findByCityStartingWithIgnoreCase(String query);
+
+	// 도시 검색 색인(CityIndex)이 테이블 변경 여부를 확인할 때 사용하는 값
+	interface CityTableStamp {
+		long getCount();
+		Long getMaxId();
+		Long getPopulationSum();
+	}
+
+	@Query("select count(c) as count, max(c.id) as maxId, sum(c.population) as populationSum from City c")
+	CityTableStamp findTableStamp();
 }
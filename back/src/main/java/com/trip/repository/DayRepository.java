@@ -1,11 +1,78 @@
 package com.trip.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.trip.entity.Day;
 
 public interface DayRepository extends JpaRepository<Day, UUID> {
 
+	// 날씨 갱신 대상 Day 조회용 (엔티티 전체 대신 필요한 값만)
+	interface WeatherTarget {
+		UUID getId();
+		UUID getTripId();
+		LocalDate getDate();
+		BigDecimal getLatitude();
+		BigDecimal getLongitude();
+	}
+
+	// from~to 사이의 날짜 중, 좌표가 있는 여행에 속하고 날씨가 오래된(또는 없는) Day 목록
+	// 최근에 시도했다가 실패한 Day는 retryBefore가 지날 때까지 빼고, 시도한 지 오래된 순(처음인 것 먼저)으로 정렬
+	@Query("select d.id as id, t.id as tripId, d.date as date, t.latitude as latitude, t.longitude as longitude "
+			+ "from Day d join d.trip t "
+			+ "where d.date between :from and :to "
+			+ "and t.latitude is not null and t.longitude is not null "
+			+ "and (d.weatherUpdatedAt is null or d.weatherUpdatedAt < :staleBefore) "
+			+ "and (d.weatherAttemptedAt is null or d.weatherAttemptedAt < :retryBefore) "
+			+ "order by d.weatherAttemptedAt asc nulls first")
+	List<WeatherTarget> findWeatherTargets(@Param("from") LocalDate from, @Param("to") LocalDate to,
+			@Param("staleBefore") LocalDateTime staleBefore, @Param("retryBefore") LocalDateTime retryBefore,
+			Pageable pageable);
+
+	// 여행의 Day 엔티티 (AI 일정 생성을 다시 요청할 때 사용)
+	List<Day> findByTrip_IdOrderByDayNumber(UUID tripId);
+
+	// 날씨 컬럼만 바로 UPDATE (엔티티를 불러오지 않음)
+	@Modifying
+	@Query("update Day d set d.weatherForecast = :forecast, d.weatherTemp = :temp, d.weatherIcon = :icon, "
+			+ "d.weatherUpdatedAt = :updatedAt, d.weatherAttemptedAt = :updatedAt where d.id = :id")
+	int updateWeather(@Param("id") UUID id, @Param("forecast") String forecast, @Param("temp") BigDecimal temp,
+			@Param("icon") String icon, @Param("updatedAt") LocalDateTime updatedAt);
+
+	// 날씨를 받지 못한 Day에 시도 시각만 기록 (기존 날씨 값은 그대로)
+	@Modifying
+	@Query("update Day d set d.weatherAttemptedAt = :attemptedAt where d.id in :ids")
+	int markWeatherAttempted(@Param("ids") Collection<UUID> ids, @Param("attemptedAt") LocalDateTime attemptedAt);
+
+	// 상세 페이지용 Day 정보 (일정은 ScheduleRepository에서 따로 조회)
+	interface DayView {
+		UUID getId();
+		Integer getDayNumber();
+		LocalDate getDate();
+		String getWeatherForecast();
+		BigDecimal getWeatherTemp();
+		String getWeatherIcon();
+	}
+
+	@Query("select d.id as id, d.dayNumber as dayNumber, d.date as date, d.weatherForecast as weatherForecast, "
+			+ "d.weatherTemp as weatherTemp, d.weatherIcon as weatherIcon "
+			+ "from Day d where d.trip.id = :tripId order by d.dayNumber")
+	List<DayView> findDayViewsByTripId(@Param("tripId") UUID tripId);
+
+	// 여행의 일부 날짜만 조회 (days(trip_id, date) 인덱스 사용)
+	@Query("select d.id as id, d.dayNumber as dayNumber, d.date as date, d.weatherForecast as weatherForecast, "
+			+ "d.weatherTemp as weatherTemp, d.weatherIcon as weatherIcon "
+			+ "from Day d where d.trip.id = :tripId and d.date between :from and :to order by d.date")
+	List<DayView> findDayViewsInRange(@Param("tripId") UUID tripId, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
 }
@@ -0,0 +1,32 @@
+package com.trip.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.trip.entity.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+	// 폐기 기록 추가 (이미 있으면 아무것도 하지 않고 0 반환)
+	// -> 같은 refresh 토큰으로 동시에 두 번 갱신해도 한 요청만 1을 받음
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO revoked_tokens (token_id, kind, expires_at, revoked_at) "
+			+ "VALUES (:tokenId, :kind, :expiresAt, :revokedAt)", nativeQuery = true)
+	int insertIfAbsent(@Param("tokenId") String tokenId, @Param("kind") String kind,
+			@Param("expiresAt") Timestamp expiresAt, @Param("revokedAt") Timestamp revokedAt);
+
+	// 시작할 때 메모리 목록 만들기용 (아직 만료되지 않은 폐기 기록)
+	List<RevokedToken> findByExpiresAtAfter(Timestamp now);
+
+	// 다른 서버가 폐기한 토큰 가져오기용
+	List<RevokedToken> findByRevokedAtGreaterThanEqual(Timestamp since);
+
+	@Modifying
+	@Query("delete from RevokedToken r where r.expiresAt < :now")
+	int deleteExpired(@Param("now") Timestamp now);
+}
@@ -1,14 +1,54 @@
 package com.trip.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.trip.entity.Schedule;
+import com.trip.entity.ScheduleStatus;
 
 public interface ScheduleRepository extends JpaRepository<Schedule, UUID> {
 	// Day 객체를 통해 -> Trip 객체에 접근해서 -> Id를 찾아서
 	// order순 정렬-> time순 정렬
     List<Schedule> findByDay_Trip_IdOrderByDisplayOrderAscTimeAsc(UUID tripId);
+
+    // 상세 페이지용 일정 정보 (어느 Day에 속하는지는 dayId로 구분)
+    interface ScheduleView {
+        UUID getId();
+        UUID getDayId();
+        LocalTime getTime();
+        LocalTime getTimeEnd();
+        String getActivity();
+        String getDescription();
+        String getIcon();
+        String getTips();
+        BigDecimal getLat();
+        BigDecimal getLng();
+        ScheduleStatus getStatus();
+    }
+
+    // 여행의 모든 일정을 한 번에 조회 (displayOrder순 -> time순)
+    @Query("select s.id as id, d.id as dayId, s.time as time, s.timeEnd as timeEnd, s.activity as activity, "
+            + "s.description as description, s.icon as icon, s.tips as tips, s.lat as lat, s.lng as lng, s.status as status "
+            + "from Schedule s join s.day d where d.trip.id = :tripId "
+            + "order by s.displayOrder asc nulls last, s.time asc nulls last")
+    List<ScheduleView> findViewsByTripId(@Param("tripId") UUID tripId);
+
+    // AI 일정이 이미 저장된 Day id들 (AI 일정 생성을 다시 요청할 때 이 날짜들은 빼고 생성)
+    @Query("select distinct d.id from Schedule s join s.day d where d.trip.id = :tripId and s.isAiGenerated = true")
+    List<UUID> findAiGeneratedDayIds(@Param("tripId") UUID tripId);
+
+    // 여행의 일부 날짜(from ~ to)에 속한 일정만 조회
+    @Query("select s.id as id, d.id as dayId, s.time as time, s.timeEnd as timeEnd, s.activity as activity, "
+            + "s.description as description, s.icon as icon, s.tips as tips, s.lat as lat, s.lng as lng, s.status as status "
+            + "from Schedule s join s.day d where d.trip.id = :tripId and d.date between :from and :to "
+            + "order by s.displayOrder asc nulls last, s.time asc nulls last")
+    List<ScheduleView> findViewsInRange(@Param("tripId") UUID tripId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
 }
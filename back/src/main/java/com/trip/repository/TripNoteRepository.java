@@ -0,0 +1,27 @@
+package com.trip.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.trip.entity.TripNote;
+
+public interface TripNoteRepository extends JpaRepository<TripNote, UUID> {
+
+	// 상세 페이지용 노트 정보 (작성자는 이름만)
+	interface NoteView {
+		UUID getId();
+		String getTitle();
+		String getContent();
+		String getAuthorName();
+		Timestamp getUpdatedAt();
+	}
+
+	@Query("select n.id as id, n.title as title, n.content as content, u.name as authorName, n.updatedAt as updatedAt "
+			+ "from TripNote n left join n.user u where n.trip.id = :tripId order by n.createdAt")
+	List<NoteView> findViewsByTripId(@Param("tripId") UUID tripId);
+}
@@ -1,6 +1,13 @@
 package com.trip.repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.trip.entity.TripParticipant;
@@ -8,4 +15,61 @@ import com.trip.entity.TripParticipantId;
 
 @Repository // 이 인터페이스가 레포지토리임을 명시
 public interface TripParticipantRepository extends JpaRepository<TripParticipant, TripParticipantId> {
-}
\ No newline at end of file
+
+	// 내가 참여한 여행 목록 카드 (여행 정보 + 내 역할)
+	interface ParticipatingTripView {
+		UUID getId();
+		String getTitle();
+		LocalDate getStartDate();
+		LocalDate getEndDate();
+		String getCountry();
+		String getCity();
+		String getStatus();
+		String getRole();
+	}
+
+	// 참여 중인 여행도 /my와 같은 순서: 시작일이 있는 여행(시작일 최신순 -> id순) 다음에 시작일이 없는 여행(id순)
+	// start_date가 NULL이면 <, = 비교가 모두 거짓이 되므로 두 구간을 따로 조회해서 이어 붙임
+	// trip_participants(user_id, trip_id, role) 인덱스에서 내 행만 읽고, trips는 id(PK)로만 찾아감
+	// (정렬 기준이 trips에 있으므로 내가 참여한 여행 수만큼만 정렬) role이 null이면 모든 역할
+
+	// 시작일이 있는 여행 첫 페이지
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status, p.role as role "
+			+ "from TripParticipant p join p.trip t "
+			+ "where p.id.userId = :userId and (:role is null or p.role = :role) "
+			+ "and t.startDate is not null "
+			+ "order by t.startDate desc, t.id desc")
+	List<ParticipatingTripView> findDatedParticipatingTrips(@Param("userId") UUID userId, @Param("role") String role,
+			Pageable pageable);
+
+	// 시작일이 있는 여행 다음 페이지: 커서(마지막으로 받은 여행)보다 뒤에 오는 여행들 (OFFSET 없이)
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status, p.role as role "
+			+ "from TripParticipant p join p.trip t "
+			+ "where p.id.userId = :userId and (:role is null or p.role = :role) "
+			+ "and (t.startDate < :startDate or (t.startDate = :startDate and t.id < :id)) "
+			+ "order by t.startDate desc, t.id desc")
+	List<ParticipatingTripView> findDatedParticipatingTripsAfter(@Param("userId") UUID userId,
+			@Param("role") String role, @Param("startDate") LocalDate startDate, @Param("id") UUID id,
+			Pageable pageable);
+
+	// 시작일이 없는 여행 (시작일이 있는 여행을 다 읽은 뒤)
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status, p.role as role "
+			+ "from TripParticipant p join p.trip t "
+			+ "where p.id.userId = :userId and (:role is null or p.role = :role) "
+			+ "and t.startDate is null "
+			+ "order by t.id desc")
+	List<ParticipatingTripView> findUndatedParticipatingTrips(@Param("userId") UUID userId, @Param("role") String role,
+			Pageable pageable);
+
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status, p.role as role "
+			+ "from TripParticipant p join p.trip t "
+			+ "where p.id.userId = :userId and (:role is null or p.role = :role) "
+			+ "and t.startDate is null and t.id < :id "
+			+ "order by t.id desc")
+	List<ParticipatingTripView> findUndatedParticipatingTripsAfter(@Param("userId") UUID userId,
+			@Param("role") String role, @Param("id") UUID id, Pageable pageable);
+}
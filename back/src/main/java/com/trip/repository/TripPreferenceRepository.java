@@ -1,5 +1,6 @@
 package com.trip.repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,4 +9,7 @@ import com.trip.entity.TripPreference;
 
 public interface TripPreferenceRepository extends JpaRepository<TripPreference, UUID> {
 
+	// AI 일정 생성을 다시 요청할 때 저장된 취향을 읽음
+	Optional<TripPreference> findByTrip_Id(UUID tripId);
+
 }
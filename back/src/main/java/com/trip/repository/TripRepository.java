@@ -1,28 +1,85 @@
 package com.trip.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.trip.entity.Trip;
-import com.trip.entity.User;
 
 public interface TripRepository extends JpaRepository<Trip, UUID> {
-	//사용자 로그인 후, "내 여행 목록 보기" 기능에 필요
-	List<Trip> findAllByCreator(User creator);
+	// 여행 목록 카드에 필요한 값만 (엔티티 전체 대신)
+	interface TripCardView {
+		UUID getId();
+		String getTitle();
+		LocalDate getStartDate();
+		LocalDate getEndDate();
+		String getCountry();
+		String getCity();
+		String getStatus();
+	}
+
+	// 내 여행 목록은 시작일이 있는 여행(시작일 최신순 -> id순) 다음에 시작일이 없는 여행(id순)
+	// start_date가 NULL이면 <, = 비교가 모두 거짓이 되므로 두 구간을 따로 조회해서 이어 붙임
+	// 두 구간 모두 (created_by, start_date) 인덱스를 그대로 따라 읽음
+
+	// 시작일이 있는 여행 첫 페이지
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status "
+			+ "from Trip t where t.creator.id = :userId and t.startDate is not null "
+			+ "order by t.startDate desc, t.id desc")
+	List<TripCardView> findDatedCardsByCreator(@Param("userId") UUID userId, Pageable pageable);
+
+	// 시작일이 있는 여행 다음 페이지: 커서(마지막으로 받은 여행)보다 뒤에 오는 여행들 (OFFSET 없이)
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status "
+			+ "from Trip t where t.creator.id = :userId "
+			+ "and (t.startDate < :startDate or (t.startDate = :startDate and t.id < :id)) "
+			+ "order by t.startDate desc, t.id desc")
+	List<TripCardView> findDatedCardsByCreatorAfter(@Param("userId") UUID userId, @Param("startDate") LocalDate startDate,
+			@Param("id") UUID id, Pageable pageable);
+
+	// 시작일이 없는 여행 (시작일이 있는 여행을 다 읽은 뒤)
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status "
+			+ "from Trip t where t.creator.id = :userId and t.startDate is null "
+			+ "order by t.id desc")
+	List<TripCardView> findUndatedCardsByCreator(@Param("userId") UUID userId, Pageable pageable);
+
+	@Query("select t.id as id, t.title as title, t.startDate as startDate, t.endDate as endDate, "
+			+ "t.country as country, t.city as city, t.status as status "
+			+ "from Trip t where t.creator.id = :userId and t.startDate is null and t.id < :id "
+			+ "order by t.id desc")
+	List<TripCardView> findUndatedCardsByCreatorAfter(@Param("userId") UUID userId, @Param("id") UUID id,
+			Pageable pageable);
+	
+	// 상세 페이지 캐시/ETag용 버전
+	@Query("select t.detailVersion from Trip t where t.id = :tripId")
+	Optional<Long> findDetailVersion(@Param("tripId") UUID tripId);
+
+	// 버전 올리기 (벌크 UPDATE처럼 엔티티 이벤트가 없는 변경을 한 트랜잭션 안에서 호출)
+	@Modifying
+	@Query("update Trip t set t.detailVersion = t.detailVersion + 1 where t.id in :tripIds")
+	int incrementDetailVersions(@Param("tripIds") Collection<UUID> tripIds);
 	
-	//ID로 Trip을 조회할 때, 연관된 엔티티들을 즉시 로딩(EAGER)하도록 설정합니다.
-	@Override
-    @EntityGraph(attributePaths = {
-    	    "creator", 
-    	    "participants.user", // participants의 user 정보까지
-    	    "days", 
-    	    "days.schedules", 
-    	    "tripNotes.user", // tripNotes의 user 정보까지
-    	    "tripTips.user"     // tripTips의 user 정보까지
-    	})
-    Optional<Trip> findById(UUID id);
+	// 상세 페이지 헤더용 (엔티티 전체 대신 필요한 값만)
+	interface TripHeaderView {
+		UUID getId();
+		String getTitle();
+		String getCity();
+		String getTheme();
+		LocalDate getStartDate();
+		LocalDate getEndDate();
+	}
+
+	@Query("select t.id as id, t.title as title, t.city as city, t.theme as theme, "
+			+ "t.startDate as startDate, t.endDate as endDate from Trip t where t.id = :tripId")
+	Optional<TripHeaderView> findHeaderById(@Param("tripId") UUID tripId);
 }
@@ -0,0 +1,25 @@
+package com.trip.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.trip.entity.TripTip;
+
+public interface TripTipRepository extends JpaRepository<TripTip, UUID> {
+
+	// 상세 페이지용 팁 정보 (작성자는 이름만)
+	interface TipView {
+		UUID getId();
+		String getText();
+		String getDescription();
+		String getAuthorName();
+	}
+
+	@Query("select t.id as id, t.text as text, t.description as description, u.name as authorName "
+			+ "from TripTip t left join t.user u where t.trip.id = :tripId order by t.createdAt")
+	List<TipView> findViewsByTripId(@Param("tripId") UUID tripId);
+}
@@ -0,0 +1,226 @@
+package com.trip.security;
+//로그인/회원가입 요청 횟수 제한
+//비밀번호 대입(credential stuffing) 요청이 그대로 BCrypt 계산과 users 조회로 이어지지 않도록
+//컨트롤러(JSON 변환, DB, 해시)에 도착하기 전에 IP별, 이메일별 토큰 버킷으로 걸러서 429로 응답
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.trip.util.TokenBucketLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+	private static final String LOGIN_PATH = "/api/auth/login";
+	private static final String SIGNUP_PATH = "/api/auth/signup";
+	private static final String EMAIL_FIELD = "email";
+	private static final JsonFactory JSON = new JsonFactory();
+
+	private final boolean enabled;
+	private final int maxBodyBytes;
+	private final TokenBucketLimiter ipLimiter;
+	private final TokenBucketLimiter emailLimiter;
+	// /actuator/metrics/auth.rate-limit.rejected?tag=key:ip 로 확인 가능
+	private final Counter loginIpRejected;
+	private final Counter loginEmailRejected;
+	private final Counter signupIpRejected;
+	private final Counter signupEmailRejected;
+	private final Counter tooLarge;
+
+	@Autowired
+	public AuthRateLimitFilter(
+			@Value("${auth.rate-limit.enabled:true}") boolean enabled,
+			@Value("${auth.rate-limit.ip.burst:20}") int ipBurst,
+			@Value("${auth.rate-limit.ip.per-minute:30}") double ipPerMinute,
+			@Value("${auth.rate-limit.email.burst:5}") int emailBurst,
+			@Value("${auth.rate-limit.email.per-minute:5}") double emailPerMinute,
+			@Value("${auth.rate-limit.slots:65536}") int slots,
+			@Value("${auth.rate-limit.max-body-bytes:4096}") int maxBodyBytes,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.maxBodyBytes = maxBodyBytes;
+		this.ipLimiter = new TokenBucketLimiter(ipBurst, ipPerMinute / 60, slots);
+		this.emailLimiter = new TokenBucketLimiter(emailBurst, emailPerMinute / 60, slots);
+		this.loginIpRejected = rejectedCounter(meterRegistry, "login", "ip");
+		this.loginEmailRejected = rejectedCounter(meterRegistry, "login", "email");
+		this.signupIpRejected = rejectedCounter(meterRegistry, "signup", "ip");
+		this.signupEmailRejected = rejectedCounter(meterRegistry, "signup", "email");
+		this.tooLarge = Counter.builder("auth.rate-limit.too-large").register(meterRegistry);
+	}
+
+	// POST 로그인/회원가입만 검사
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!enabled || !"POST".equals(request.getMethod())) return true;
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return !LOGIN_PATH.equals(path) && !SIGNUP_PATH.equals(path);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean login = request.getRequestURI().endsWith(LOGIN_PATH);
+
+		//1.IP별 제한 (본문을 읽기 전에 확인)
+		//프록시 뒤에 둘 때는 server.forward-headers-strategy=native 로 실제 클라이언트 IP가 들어오게 설정
+		long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+		if (waitNanos > 0) {
+			(login ? loginIpRejected : signupIpRejected).increment();
+			reject(response, waitNanos);
+			return;
+		}
+
+		//2.이메일별 제한: 본문을 최대 maxBodyBytes까지만 읽고 "email" 값만 꺼냄 (토큰 단위로 읽기만 하고 DTO 변환은 하지 않음)
+		//로그인/회원가입 본문은 작으므로 이보다 크면 바로 거절
+		if (request.getContentLengthLong() > maxBodyBytes) {
+			tooLarge.increment();
+			response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+			return;
+		}
+		byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+		if (body.length > maxBodyBytes) {
+			tooLarge.increment();
+			response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+			return;
+		}
+		String email = findEmail(body);
+		if (email != null) {
+			waitNanos = emailLimiter.tryAcquire(email);
+			if (waitNanos > 0) {
+				(login ? loginEmailRejected : signupEmailRejected).increment();
+				reject(response, waitNanos);
+				return;
+			}
+		}
+		//이미 읽은 본문을 컨트롤러가 다시 읽을 수 있도록 감싸서 넘김
+		filterChain.doFilter(new CachedBodyRequest(request, body), response);
+	}
+
+	// 429 + Retry-After(초)
+	private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L)));
+		response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+	}
+
+	// 본문에서 email 값 찾기 (소문자, 앞뒤 공백 제거). 없거나 JSON이 아니면 null -> IP 제한만 적용
+	// 컨트롤러와 같은 Jackson 파서로 읽음 -> \u0040 같은 이스케이프는 풀린 값, 같은 키가 여러 번 나오면 마지막 값
+	// (LoginRequest/SignupRequest로 변환될 때와 같은 값이 키가 되므로 표기만 바꿔서 제한을 피할 수 없음)
+	static String findEmail(byte[] body) {
+		String email = null;
+		try (JsonParser parser = JSON.createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if (!EMAIL_FIELD.equals(field)) {
+					parser.skipChildren(); // 다른 필드의 객체/배열은 통째로 건너뜀
+				} else if (value.isScalarValue()) {
+					email = parser.getValueAsString(); // 숫자 등도 문자열로 바뀌어 들어가는 것과 같게 (null이면 null)
+				} else {
+					return null; // 객체/배열이면 컨트롤러에서 400
+				}
+			}
+		} catch (IOException e) {
+			return null; // 잘못된 JSON -> 컨트롤러에서 400
+		}
+		if (email == null) return null;
+		email = email.trim();
+		return email.isEmpty() ? null : email.toLowerCase(Locale.ROOT);
+	}
+
+	private static Counter rejectedCounter(MeterRegistry meterRegistry, String endpoint, String key) {
+		return Counter.builder("auth.rate-limit.rejected")
+				.tag("endpoint", endpoint)
+				.tag("key", key)
+				.register(meterRegistry);
+	}
+
+	// 미리 읽어 둔 본문을 다시 돌려주는 요청
+	static final class CachedBodyRequest extends HttpServletRequestWrapper {
+		private final byte[] body;
+
+		CachedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream in = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					return in.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return in.read(b, off, len);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return in.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				// 본문이 이미 메모리에 다 있으므로 바로 읽을 수 있음 -> 읽기 가능, 다 읽음 순서로 바로 알려줌
+				@Override
+				public void setReadListener(ReadListener listener) {
+					try {
+						if (!isFinished()) {
+							listener.onDataAvailable();
+						}
+						listener.onAllDataRead();
+					} catch (IOException e) {
+						listener.onError(e);
+					}
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			String encoding = getCharacterEncoding();
+			return new BufferedReader(new InputStreamReader(getInputStream(),
+					encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public int getContentLength() {
+			return body.length;
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return body.length;
+		}
+	}
+}
@@ -2,43 +2,64 @@ package com.trip.security;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.trip.entity.User;
 
 //UserDetails라는 정해진 규격에 맞춰 만든 출입증
 //원하는 추가정보를 담을 수 있음
+//요청마다 DB를 조회하지 않도록 User 엔티티 대신 필요한 값(id, 이메일, 이름, 역할)만 담음
+//-> 토큰의 claim만으로도 만들 수 있음 (JwtAuthenticationFilter)
 
 public class CustomUserDetails implements UserDetails{
 
-	// 원본 User 엔티티 객체를 필드로 가집니다.
-    private final User user;
+    private final UUID id;
+    private final String email;
+    private final String name;
+    private final String role;
+    private final String password; // 토큰으로 만든 경우 null (인증이 끝난 뒤에는 쓰지 않음)
 
+    // DB에서 읽은 User 엔티티로 만들기
     public CustomUserDetails(User user) {
-        this.user = user;
+        this(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getPassword());
+    }
+
+    // 토큰의 claim으로 만들기
+    public CustomUserDetails(UUID id, String email, String name, String role) {
+        this(id, email, name, role, null);
+    }
+
+    private CustomUserDetails(UUID id, String email, String name, String role, String password) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        this.password = password;
     }
 
     // UserDetails 인터페이스의 메소드 구현(기본 기능)
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // 현재는 권한(Role)을 사용하지 않으므로 빈 리스트를 반환합니다.
-        // 만약 user.getRole()에 "ROLE_ADMIN" 같은 값이 있다면, 그것을 GrantedAuthority로 변환해서 반환해야 합니다.
-        return Collections.emptyList();
+        // user.getRole()에 "ROLE_USER" 같은 값이 있으면 GrantedAuthority로 변환해서 반환
+        if (role == null || role.isBlank()) return Collections.emptyList();
+        return List.of(new SimpleGrantedAuthority(role));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
         // UserDetails에서 'username'은 일반적으로 고유 식별자를 의미합니다.
         // 우리 시스템에서는 이메일이 그 역할을 하므로, 이메일을 반환합니다.
-        return user.getEmail();
+        return email;
     }
 
     //계정 상태 관련 메소드들 (지금은 모두 true로 설정)
@@ -64,23 +85,19 @@ public class CustomUserDetails implements UserDetails{
     }
 
     // 필요한 추가 정보를 가져오기 위한 커스텀 메소드들(핵심)
-    public User getUser() {
-        // 원본 User 엔티티 객체를 통째로 반환하는 메소드
-        return user;
-    }
-
     public UUID getId() {
-        // User 엔티티에서 ID를 반환
-        return user.getId();
+        return id;
     }
     
     public String getName() {
-        // User 엔티티에서 이름을 반환
-        return user.getName();
+        return name;
     }
 
     public String getEmail() {
-        // User 엔티티에서 이메일을 반환
-        return user.getEmail();
+        return email;
+    }
+
+    public String getRole() {
+        return role;
     }
-}
\ No newline at end of file
+}
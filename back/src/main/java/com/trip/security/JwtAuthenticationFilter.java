@@ -6,11 +6,13 @@ import java.io.IOException;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,10 +23,15 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	private final JwtUtil jwtUtil;
 	private final CustomUserDetailsService userDetailsService;
+	private final UserPrincipalCache principalCache;
+	private final TokenRevocationStore revocationStore;
 	
-	public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+	public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+			UserPrincipalCache principalCache, TokenRevocationStore revocationStore) {
 		this.jwtUtil = jwtUtil;
 		this.userDetailsService = userDetailsService;
+		this.principalCache = principalCache;
+		this.revocationStore = revocationStore;
 	}
 
 	@Override
@@ -32,19 +39,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			throws ServletException, IOException {
 		//요청 헤더에서 Authorization 키의 값 가져오기
 		String authHeader = request.getHeader("Authorization");
-		String token = null;
-		String email = null;
+		DecodedJWT jwt = null;
 		//헤더가 있고, 그 값이 Bearer 로 시작하는지 확인
 		if (authHeader != null && authHeader.startsWith("Bearer ")) {
-			token = authHeader.substring(7); //앞 7자를 자르고 토큰 가져옴
-			email = jwtUtil.getEmailByToken(token); //함수로 이메일 가져옴
+			String token = authHeader.substring(7); //앞 7자를 자르고 토큰 가져옴
+			jwt = jwtUtil.verify(token); //서명/만료 검증과 내용 꺼내기를 한 번에 (위조/만료면 null)
+			//refresh 토큰은 API 인증에 쓸 수 없음, 로그아웃한 세션의 토큰도 거절 (메모리 조회만)
+			if (jwt != null && (jwtUtil.isRefreshToken(jwt) || revocationStore.isRevoked(jwt))) {
+				jwt = null;
+			}
 		}
-		//이메일이 존재하고, 아직 인증되지 않은 상태(Context에 없는 상태)라면 검사 시작
-		if(email != null && SecurityContextHolder.getContext().getAuthentication()==null) {
-			//DB에서 유저 상세정보 가져오기
-			UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-			//토큰 유효성 검사
-			if(jwtUtil.validateToken(token)) {
+		//유효한 토큰이고, 아직 인증되지 않은 상태(Context에 없는 상태)라면 인증 처리
+		if(jwt != null && jwt.getSubject() != null && SecurityContextHolder.getContext().getAuthentication()==null) {
+			CustomUserDetails userDetails = resolvePrincipal(jwt);
+			if (userDetails != null) {
 				//인증객체 생성
 				UsernamePasswordAuthenticationToken authToken = 
 						new UsernamePasswordAuthenticationToken(userDetails,null, userDetails.getAuthorities());
@@ -52,8 +60,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 				authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				//스프링 시큐리티 저장소(context holder)에 인증정보 저장
 				SecurityContextHolder.getContext().setAuthentication(authToken);
-			}			
+			}
 		}
 		filterChain.doFilter(request, response);
 	}
+	
+	//출입증 찾기: 캐시 -> 토큰 claim -> DB 순서 (DB는 claim이 없는 예전 토큰이거나 발급 후 사용자 정보가 바뀐 경우만)
+	private CustomUserDetails resolvePrincipal(DecodedJWT jwt) {
+		String email = jwt.getSubject();
+		CustomUserDetails principal = principalCache.get(email);
+		if (principal != null) return principal;
+		
+		long issuedAt = jwt.getIssuedAt() != null ? jwt.getIssuedAt().getTime() : 0;
+		if (principalCache.isClaimFresh(email, issuedAt)) {
+			principal = jwtUtil.toPrincipal(jwt);
+		}
+		if (principal == null) {
+			try {
+				//DB에서 유저 상세정보 가져오기
+				principal = (CustomUserDetails) userDetailsService.loadUserByUsername(email);
+			} catch (UsernameNotFoundException e) {
+				return null; // 탈퇴한 사용자 -> 인증하지 않음
+			}
+		}
+		principalCache.put(principal);
+		return principal;
+	}
 }
@@ -1,15 +1,29 @@
 package com.trip.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.trip.entity.User;
+import com.trip.util.ExpiringLruCache;
 
 //토큰을 생성하고, 들어온 토큰이 위조되었는지 검사하는 클래스
+//서명 알고리즘과 검증기(JWTVerifier)는 시작할 때 한 번만 만들어서 재사용 (스레드 안전)
+//최근에 검증한 토큰은 해시값 -> 검증 결과로 잠깐 보관해서 같은 토큰의 서명을 매번 다시 계산하지 않음
+//access 토큰(짧게, jwt.expiration)과 refresh 토큰(길게, jwt.refresh-expiration)을 발급
+//한 번 로그인해서 받은 토큰들은 같은 세션 id(family)를 가짐 -> 로그아웃하면 세션 전체를 한 번에 폐기
 
 @Component
 public class JwtUtil {
@@ -23,50 +37,117 @@ public class JwtUtil {
 //	private long expirationTime;
 
 	
-	 private String secretKey;
+	private static final String CLAIM_USER_ID = "uid";
+	private static final String CLAIM_NAME = "name";
+	private static final String CLAIM_ROLE = "role";
+	private static final String CLAIM_TYPE = "typ";
+	public static final String CLAIM_FAMILY = "fam";
+	private static final String TYPE_REFRESH = "refresh";
+
 	    private long expirationTime;
+	    private final long refreshExpirationTime;
+	    private final Algorithm algorithm;
+	    private final JWTVerifier verifier;
+	    // 토큰 해시 -> 검증된 토큰 (토큰 만료 시각까지만 보관)
+	    private final ExpiringLruCache<String, DecodedJWT> verifiedTokens;
 
-	    // [추가] 생성자를 만들어서 값이 들어오는지 찍어보기
 	    // @Value는 필드 주입보다 생성자 주입이 더 안전합니다.
 	    @Autowired
 	    public JwtUtil(@Value("${jwt.secret}") String secretKey,
-	                   @Value("${jwt.expiration}") long expirationTime) {
-	        this.secretKey = secretKey;
+	                   @Value("${jwt.expiration}") long expirationTime,
+	                   @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationTime,
+	                   @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize,
+	                   @Value("${jwt.verified-cache.ttl-ms:300000}") long verifiedCacheTtlMs) {
 	        this.expirationTime = expirationTime;
-	        
-	        System.out.println("============== JWT 키 확인 ==============");
-	        System.out.println("Secret Key: " + this.secretKey);
-	        System.out.println("Expiration Time: " + this.expirationTime);
-	        System.out.println("========================================");
+	        this.refreshExpirationTime = refreshExpirationTime;
+	        this.algorithm = Algorithm.HMAC256(secretKey);
+	        this.verifier = JWT.require(algorithm).build();
+	        this.verifiedTokens = new ExpiringLruCache<>(verifiedCacheSize, verifiedCacheTtlMs);
 	    }	
 	//1.토큰 생성 함수
 	//로그인 성공 시, 토큰을 만드는 함수
-	public String generateToken(String email) {
+	//요청마다 DB를 조회하지 않도록 출입증(CustomUserDetails)에 필요한 값(id, 이름, 역할)도 함께 담음
+	//familyId: 로그인 세션 id (로그아웃하면 이 세션의 토큰이 모두 폐기됨)
+	public String generateToken(User user, String familyId) {
 		return JWT.create()
-				.withSubject(email) //토큰의 주인 기록(email)
+				.withSubject(user.getEmail()) //토큰의 주인 기록(email)
+				.withClaim(CLAIM_USER_ID, user.getId().toString())
+				.withClaim(CLAIM_NAME, user.getName())
+				.withClaim(CLAIM_ROLE, user.getRole())
+				.withClaim(CLAIM_FAMILY, familyId)
 				.withIssuedAt(new Date()) //토큰 발급시간 기록
 				.withExpiresAt(new Date(System.currentTimeMillis()+expirationTime)) //언제 만료되는지 기록
-				.sign(Algorithm.HMAC256(secretKey)); //비밀키를 이용해 암호화 서명
+				.sign(algorithm); //비밀키를 이용해 암호화 서명
+	}
+	
+	//refresh 토큰 생성 함수 (access 토큰 재발급에만 사용, 한 번 쓰면 폐기되고 새 토큰으로 교체)
+	public String generateRefreshToken(User user, String familyId) {
+		return JWT.create()
+				.withSubject(user.getEmail())
+				.withJWTId(UUID.randomUUID().toString()) //폐기 목록에 올릴 토큰 id
+				.withClaim(CLAIM_TYPE, TYPE_REFRESH)
+				.withClaim(CLAIM_FAMILY, familyId)
+				.withIssuedAt(new Date())
+				.withExpiresAt(new Date(System.currentTimeMillis()+refreshExpirationTime))
+				.sign(algorithm);
+	}
+	
+	public boolean isRefreshToken(DecodedJWT jwt) {
+		return TYPE_REFRESH.equals(jwt.getClaim(CLAIM_TYPE).asString());
+	}
+	
+	public String getFamily(DecodedJWT jwt) {
+		return jwt.getClaim(CLAIM_FAMILY).asString();
+	}
+	
+	//세션을 폐기할 때 폐기 기록을 유지해야 하는 시각 (지금 발급되는 refresh 토큰이 만료되는 시각)
+	public Date familyExpiresAt() {
+		return new Date(System.currentTimeMillis() + refreshExpirationTime);
+	}
+	
+	//2.토큰 검증 + 내용(claim) 꺼내기를 한 번에
+	//위조되었거나 만료된 토큰이면 null (예외를 던지지 않음)
+	public DecodedJWT verify(String token) {
+		if (token == null || token.isBlank()) return null;
+		String key = hash(token);
+		DecodedJWT cached = verifiedTokens.get(key);
+		long now = System.currentTimeMillis();
+		if (cached != null && isUnexpired(cached, now)) {
+			return cached;
+		}
+		try {
+			DecodedJWT decoded = verifier.verify(token); //서명 + 만료 시간 검증
+			long ttl = decoded.getExpiresAt() != null ? decoded.getExpiresAt().getTime() - now : expirationTime;
+			if (ttl > 0) verifiedTokens.put(key, decoded, ttl);
+			return decoded;
+		} catch (JWTVerificationException e) {
+			return null;
+		}
+	}
+	
+	//검증된 토큰의 claim으로 출입증 만들기 (claim이 없는 예전 토큰이면 null -> DB에서 읽어야 함)
+	public CustomUserDetails toPrincipal(DecodedJWT jwt) {
+		String userId = jwt.getClaim(CLAIM_USER_ID).asString();
+		if (userId == null || jwt.getSubject() == null) return null;
+		try {
+			return new CustomUserDetails(UUID.fromString(userId), jwt.getSubject(),
+					jwt.getClaim(CLAIM_NAME).asString(), jwt.getClaim(CLAIM_ROLE).asString());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
 	}
 	
-	//2.신원검사용 함수(누구의 토큰인가?-email 추출)
-	public String getEmailByToken(String token) {
-		return JWT.require(Algorithm.HMAC256(secretKey)) //비밀키로 서명을 풀 준비
-				.build()
-				.verify(token) //토큰 검증
-				.getSubject(); //이메일 추출
+	private boolean isUnexpired(DecodedJWT decoded, long now) {
+		return decoded.getExpiresAt() == null || decoded.getExpiresAt().getTime() > now;
 	}
 	
-	//3.유효성 검사 함수
-	//토큰이 위조되거나 만료되지 않았는지 확인
-	public boolean validateToken(String token) {
+	//캐시 키로 토큰 원문 대신 SHA-256 해시를 사용 (메모리에 토큰을 그대로 들고 있지 않도록)
+	private String hash(String token) {
 		try {
-			JWT.require(Algorithm.HMAC256(secretKey))
-				.build()
-				.verify(token);
-			return true;
-		}catch(Exception e) {
-			return false; 
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // SHA-256은 모든 JVM에 있음
 		}
 	}
 }
@@ -2,14 +2,17 @@ package com.trip.security;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -20,14 +23,17 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource; // [중요]
 public class SecurityConfig {
 	
 	private final JwtAuthenticationFilter jwtAuthenticationFilter;
+	private final AuthRateLimitFilter authRateLimitFilter;
 	
-	public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+	public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, AuthRateLimitFilter authRateLimitFilter) {
 		this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+		this.authRateLimitFilter = authRateLimitFilter;
 	}
 	
+	// cost(auth.bcrypt.strength)를 바꾸면 기존 사용자는 다음 로그인 때 새 cost로 다시 해시됨 (PasswordHasher)
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
 	}
 
     @Bean
@@ -39,6 +45,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             // 세션 미사용 (JWT 사용)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // 토큰이 없거나 만료/폐기되었으면 401 (프론트는 401일 때만 refresh 토큰으로 재발급, 403은 권한 없음)
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             // 접근 권한 설정
             .authorizeHttpRequests(auth -> auth
                 // [수정] 메인 화면("/")과 정적 리소스도 허용 (403 방지)
@@ -52,6 +60,8 @@ public class SecurityConfig {
                 // 나머지는 인증 필요
                 .anyRequest().authenticated()
             )
+            // 로그인/회원가입 요청 횟수 제한 (본문 변환, DB 조회, 비밀번호 해시보다 먼저)
+            .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
             // JWT 필터 배치
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -72,6 +82,9 @@ public class SecurityConfig {
         // 모든 헤더 허용
         configuration.setAllowedHeaders(Arrays.asList("*"));
         
+        // 프론트엔드에서 읽을 수 있는 응답 헤더 (상세 페이지 ETag, 목록 다음 페이지 커서, 요청 제한 시 재시도 대기 시간)
+        configuration.setExposedHeaders(Arrays.asList("ETag", "X-Next-Cursor", "Retry-After"));
+        
         // 쿠키/인증정보 허용
         configuration.setAllowCredentials(true);
         
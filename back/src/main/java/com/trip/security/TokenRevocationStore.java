@@ -0,0 +1,99 @@
+package com.trip.security;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.trip.entity.RevokedToken;
+import com.trip.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+
+//폐기된 토큰/세션 목록 (id -> 만료 시각)
+//요청마다 하는 폐기 확인은 메모리 해시맵 조회(O(1))로만 처리하고 DB는 보지 않음
+//- 시작할 때 revoked_tokens 테이블에서 아직 만료되지 않은 행을 읽어서 채움
+//- 폐기는 DB에 먼저 쓰고(INSERT IGNORE) 메모리에 추가
+//- 주기적으로 다른 서버가 폐기한 행을 가져오고, 만료된 항목은 메모리/DB에서 지움
+@Component
+public class TokenRevocationStore {
+
+	private static final long SYNC_OVERLAP_MS = 5000; // 서버 간 시계 차이/커밋 지연 여유
+
+	private final RevokedTokenRepository revokedTokenRepository;
+	private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+	private volatile long lastSyncAt;
+
+	@Autowired
+	public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry) {
+		this.revokedTokenRepository = revokedTokenRepository;
+		meterRegistry.gaugeMapSize("auth.revoked.size", Tags.empty(), revoked);
+	}
+
+	@PostConstruct
+	public void load() {
+		long now = System.currentTimeMillis();
+		for (RevokedToken row : revokedTokenRepository.findByExpiresAtAfter(new Timestamp(now))) {
+			revoked.put(row.getTokenId(), row.getExpiresAt().getTime());
+		}
+		lastSyncAt = now;
+	}
+
+	// 토큰 자체(jti) 또는 토큰이 속한 세션(family)이 폐기되었는지
+	public boolean isRevoked(DecodedJWT jwt) {
+		return contains(jwt.getId()) || contains(jwt.getClaim(JwtUtil.CLAIM_FAMILY).asString());
+	}
+
+	// 이 토큰(jti)이 이미 폐기되었는지 (refresh 토큰 재사용 확인용)
+	public boolean isTokenRevoked(DecodedJWT jwt) {
+		return contains(jwt.getId());
+	}
+
+	// refresh 토큰 한 개 폐기 (이미 폐기되어 있었으면 false -> 같은 토큰이 두 번 쓰인 것)
+	@Transactional
+	public boolean revokeToken(String jti, Date expiresAt) {
+		return revoke(jti, RevokedToken.KIND_TOKEN, expiresAt);
+	}
+
+	// 세션 전체 폐기 (로그아웃, refresh 토큰 재사용 감지) -> 같은 family의 access/refresh 토큰이 모두 무효
+	@Transactional
+	public void revokeFamily(String familyId, Date expiresAt) {
+		revoke(familyId, RevokedToken.KIND_FAMILY, expiresAt);
+	}
+
+	// 다른 서버에서 폐기한 토큰 가져오기 + 만료된 항목 정리
+	@Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:60000}", initialDelayString = "${jwt.revocation.sync-ms:60000}")
+	@Transactional
+	public void sync() {
+		long now = System.currentTimeMillis();
+		for (RevokedToken row : revokedTokenRepository.findByRevokedAtGreaterThanEqual(new Timestamp(lastSyncAt - SYNC_OVERLAP_MS))) {
+			revoked.put(row.getTokenId(), row.getExpiresAt().getTime());
+		}
+		lastSyncAt = now;
+		revoked.values().removeIf(expiresAt -> expiresAt < now);
+		revokedTokenRepository.deleteExpired(new Timestamp(now));
+	}
+
+	private boolean revoke(String id, String kind, Date expiresAt) {
+		if (id == null) return false;
+		long expires = expiresAt != null ? expiresAt.getTime() : System.currentTimeMillis();
+		int inserted = revokedTokenRepository.insertIfAbsent(id, kind, new Timestamp(expires), new Timestamp(System.currentTimeMillis()));
+		revoked.put(id, expires);
+		return inserted > 0;
+	}
+
+	private boolean contains(String id) {
+		if (id == null) return false;
+		Long expiresAt = revoked.get(id);
+		return expiresAt != null && expiresAt >= System.currentTimeMillis();
+	}
+}
@@ -0,0 +1,121 @@
+package com.trip.security;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.trip.entity.User;
+import com.trip.util.ExpiringLruCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+//인증된 사용자 정보(CustomUserDetails) 캐시 (이메일 -> 출입증)
+//요청마다 DB를 조회하지 않도록 토큰 claim 또는 DB에서 만든 출입증을 잠깐 보관
+//User가 수정/삭제되면(커밋 후) 캐시에서 지우고 변경 시각을 기록
+//-> 변경 전에 발급된 토큰의 claim은 믿지 않고 DB에서 다시 읽음
+//JPQL 벌크 UPDATE처럼 이벤트가 발생하지 않는 변경은 호출한 쪽에서 직접 invalidate 해야 함
+@Component
+public class UserPrincipalCache implements PostUpdateEventListener, PostDeleteEventListener {
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final ExpiringLruCache<String, CustomUserDetails> principals;
+	// 이메일 -> 마지막으로 변경된 시각 (토큰 최대 유효시간 동안만 의미가 있음)
+	private final ExpiringLruCache<String, Long> changedAt;
+	private final Counter hits;
+	private final Counter misses;
+
+	@Autowired
+	public UserPrincipalCache(EntityManagerFactory entityManagerFactory,
+			@Value("${auth.principal-cache.max-size:10000}") int maxSize,
+			@Value("${auth.principal-cache.ttl-ms:600000}") long ttlMs,
+			@Value("${jwt.expiration}") long tokenLifetimeMs,
+			MeterRegistry meterRegistry) {
+		this.entityManagerFactory = entityManagerFactory;
+		this.principals = new ExpiringLruCache<>(maxSize, ttlMs);
+		this.changedAt = new ExpiringLruCache<>(maxSize * 10, tokenLifetimeMs);
+		// /actuator/metrics/auth.principal.cache.requests?tag=result:hit 로 확인 가능
+		this.hits = Counter.builder("auth.principal.cache.requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder("auth.principal.cache.requests").tag("result", "miss").register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void register() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_UPDATE, this);
+		registry.appendListeners(EventType.POST_DELETE, this);
+	}
+
+	// 캐시된 출입증 (없으면 null)
+	public CustomUserDetails get(String email) {
+		CustomUserDetails principal = principals.get(email);
+		if (principal != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return principal;
+	}
+
+	public void put(CustomUserDetails principal) {
+		principals.put(principal.getEmail(), principal);
+	}
+
+	// issuedAtMillis에 발급된 토큰의 claim을 그대로 믿어도 되는지 (그 뒤에 사용자 정보가 바뀌었으면 false)
+	public boolean isClaimFresh(String email, long issuedAtMillis) {
+		Long changed = changedAt.get(email);
+		return changed == null || issuedAtMillis > changed;
+	}
+
+	// 사용자 정보가 바뀌었을 때 호출
+	public void invalidate(String email) {
+		if (email == null) return;
+		changedAt.put(email, System.currentTimeMillis());
+		principals.remove(email);
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		onChange(event.getSession(), event.getEntity());
+		// 이메일이 바뀐 경우 예전 이메일도 무효화
+		if (event.getEntity() instanceof User && event.getOldState() != null) {
+			Object oldEmail = event.getOldState()[event.getPersister().getPropertyIndex("email")];
+			if (oldEmail instanceof String email && !email.equals(((User) event.getEntity()).getEmail())) {
+				event.getSession().getActionQueue().registerProcess((success, s) -> {
+					if (success) invalidate(email);
+				});
+			}
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		onChange(event.getSession(), event.getEntity());
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+
+	private void onChange(EventSource session, Object entity) {
+		if (!(entity instanceof User user)) return;
+		String email = user.getEmail();
+		// 커밋이 끝난 뒤 실행 (success=false면 롤백된 것)
+		session.getActionQueue().registerProcess((success, s) -> {
+			if (success) invalidate(email);
+		});
+	}
+}
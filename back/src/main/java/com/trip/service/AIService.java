@@ -1,77 +1,377 @@
 package com.trip.service;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trip.dto.AiDto;
 import com.trip.entity.*;
 import com.trip.repository.ScheduleRepository;
+import com.trip.util.AiScheduleStreamParser;
+import com.trip.util.CityKdTree;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class AIService {
 
+    private static final String CHAT_COMPLETIONS_URL = "https://api.openai.com/v1/chat/completions";
+
     @Value("${openai.api.key}") // application.properties에 키 저장 필요
     private String openAiKey;
 
     private final ScheduleRepository scheduleRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // OpenAI 전용 RestTemplate (커넥션 풀, 타임아웃, 서킷 브레이커가 날씨 API와 분리됨 -> AppConfig 참고)
+    private final RestTemplate restTemplate;
+    // 모르는 필드가 있어도 무시 (스트리밍 조각에는 id, model 등 사용하지 않는 필드가 많음)
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // 분할 모드에서 구간별 OpenAI 호출을 실행하는 풀 (AsyncConfig 참고)
+    private final ThreadPoolTaskExecutor aiFanOutExecutor;
+
+    @Value("${ai.fanout.days-per-chunk:2}")
+    private int fanOutDaysPerChunk; // 한 번의 요청으로 생성할 일수
+
+    @Value("${ai.fanout.max-parallel:3}")
+    private int fanOutMaxParallel; // 작업 하나가 동시에 보낼 수 있는 요청 수
+
+    // 서버 전체의 OpenAI 호출 한도 (분당 요청/토큰 수, 사용자별 공정 대기열, 429 백오프)
+    private final OpenAiRateLimiter rateLimiter;
+
+    @Value("${ai.rate-limit.output-tokens-per-day:800}")
+    private int outputTokensPerDay; // 하루치 일정 생성에 드는 출력 토큰 추정치
+
+    @Value("${ai.rate-limit.max-retries:3}")
+    private int maxRetries; // 429를 받았을 때 다시 시도하는 횟수
+
+    @Value("${ai.schedule.max-distance-km:300}")
+    private double maxScheduleDistanceKm; // 여행 도시에서 이보다 먼 좌표는 잘못 생성된 것으로 보고 버림
 
     @Autowired
-    public AIService(ScheduleRepository scheduleRepository) {
+    public AIService(ScheduleRepository scheduleRepository,
+                     @Qualifier("openAiRestTemplate") RestTemplate restTemplate,
+                     @Qualifier("aiFanOutExecutor") ThreadPoolTaskExecutor aiFanOutExecutor,
+                     OpenAiRateLimiter rateLimiter) {
         this.scheduleRepository = scheduleRepository;
+        this.restTemplate = restTemplate;
+        this.aiFanOutExecutor = aiFanOutExecutor;
+        this.rateLimiter = rateLimiter;
     }
 
-    public void createAiSchedule(Trip trip, List<Day> days, TripPreference pref) {
+    // 생성된 일정(저장한 날짜들)을 반환 -> 일정 캐시(ItineraryCache)에 보관
+    public AiDto.AiScheduleResult createAiSchedule(Trip trip, List<Day> days, TripPreference pref) {
         try {
             // 1. 프롬프트 작성 (Java String Block 사용)
             String prompt = createPrompt(trip, pref);
 
-            // 2. OpenAI 호출
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(openAiKey);
+            // 2. OpenAI 호출 + 3. 응답 파싱
+            AiDto.AiScheduleResult aiResult = requestSchedule(trip, prompt, days.size());
+            // 4. DB 저장 (Entity 변환)
+            saveSchedules(aiResult, days, trip);
+
+            // 5. 응답이 끊겨서 빠진 날짜만 다시 생성
+            List<AiDto.AiDailyPlan> generated = new ArrayList<>(aiResult.getSchedule());
+            fillMissingDays(trip, days, pref, generated, saved -> {});
+            aiResult.setSchedule(generated);
+            return aiResult;
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("AI 일정 생성 실패: " + e.getMessage());
+        }
+    }
+
+    // OpenAI를 한 번 호출해서 전체 응답을 받은 뒤 AiScheduleResult로 파싱
+    // 응답이 끊기거나 앞뒤에 다른 글이 붙어도 완성된 날짜/활동은 살림 (빠진 날짜는 결과에 없음)
+    private AiDto.AiScheduleResult requestSchedule(Trip trip, String prompt, int dayCount) throws Exception {
+        HttpEntity<AiDto.ChatRequest> entity = chatEntity(prompt, false);
+
+        AiDto.ChatResponse response = callOpenAi(trip, prompt, dayCount, () -> restTemplate.postForObject(
+                CHAT_COMPLETIONS_URL, entity, AiDto.ChatResponse.class));
+
+        String content = null;
+        if (response != null && response.getChoices() != null && !response.getChoices().isEmpty()) {
+            content = response.getChoices().get(0).getMessage().getContent();
+        }
+        return AiScheduleStreamParser.parse(objectMapper, content);
+    }
+
+    // 생성된 날짜(generated)에 없는 날짜만 다시 요청해서 저장 (연속된 날짜끼리 묶어서 구간 프롬프트로 한 번씩)
+    // 다시 요청해도 채우지 못한 날짜가 있으면 그 날짜들을 알려주며 실패
+    private void fillMissingDays(Trip trip, List<Day> days, TripPreference pref,
+                                 List<AiDto.AiDailyPlan> generated, Consumer<List<Schedule>> onDaySaved) {
+        List<Day> missing = missingDays(days, generated);
+        if (missing.isEmpty()) return;
+        System.err.println("AI 응답에서 빠진 날짜 다시 생성: " + missing.stream().map(Day::getDayNumber).toList() + "일차");
+
+        // 연속된 날짜끼리 묶기 (예: 2,3,5 -> [2,3] [5])
+        List<List<Day>> runs = new ArrayList<>();
+        for (Day day : missing) {
+            List<Day> last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (last != null && last.get(last.size() - 1).getDayNumber() + 1 == day.getDayNumber()) {
+                last.add(day);
+            } else {
+                runs.add(new ArrayList<>(List.of(day)));
+            }
+        }
+
+        for (List<Day> run : runs) {
+            try {
+                String prompt = createPrompt(trip, pref, run.get(0), run.get(run.size() - 1));
+                AiDto.AiScheduleResult aiResult = onlyChunkDays(requestSchedule(trip, prompt, run.size()), run);
+                if (aiResult == null || aiResult.getSchedule().isEmpty()) continue;
+                generated.addAll(aiResult.getSchedule());
+                onDaySaved.accept(saveSchedules(aiResult, days, trip));
+            } catch (Exception e) {
+                System.err.println("빠진 날짜 재생성 실패 (" + run.get(0).getDayNumber() + "일차~): " + e.getMessage());
+            }
+        }
+        generated.sort(Comparator.comparingInt(AiDto.AiDailyPlan::getDay));
+
+        List<Day> stillMissing = missingDays(days, generated);
+        if (!stillMissing.isEmpty()) {
+            throw new RuntimeException("AI 일정 생성 실패: " + stillMissing.stream().map(Day::getDayNumber).toList()
+                    + "일차 일정을 생성하지 못했습니다.");
+        }
+    }
+
+    private List<Day> missingDays(List<Day> days, List<AiDto.AiDailyPlan> generated) {
+        Set<Integer> present = generated.stream().map(AiDto.AiDailyPlan::getDay).collect(Collectors.toSet());
+        return days.stream()
+                .filter(d -> !present.contains(d.getDayNumber()))
+                .sorted(Comparator.comparing(Day::getDayNumber))
+                .collect(Collectors.toList());
+    }
 
-            AiDto.ChatRequest request = new AiDto.ChatRequest("gpt-4o", prompt); // 모델명 확인
-            HttpEntity<AiDto.ChatRequest> entity = new HttpEntity<>(request, headers);
+    // 분할 모드: 여행을 며칠 단위 구간으로 나눠 구간마다 따로 프롬프트를 보내고 동시에 실행
+    // 출력 토큰 수가 구간 길이에만 비례하므로 전체 소요 시간이 대략 한 구간 생성 시간으로 줄어듦
+    // 구간 결과가 도착하는 순서대로 saveSchedules(기존 정렬 로직)로 저장
+    public AiDto.AiScheduleResult createAiScheduleFanOut(Trip trip, List<Day> days, TripPreference pref,
+                                       Consumer<List<Schedule>> onDaySaved) {
+        List<Day> sortedDays = new ArrayList<>(days);
+        sortedDays.sort(Comparator.comparing(Day::getDayNumber));
 
-            AiDto.ChatResponse response = restTemplate.postForObject(
-                    "https://api.openai.com/v1/chat/completions", entity, AiDto.ChatResponse.class);
+        // 1. 구간 나누기 (예: 5일 여행, 구간 2일 -> [1,2] [3,4] [5])
+        List<List<Day>> chunks = new ArrayList<>();
+        for (int i = 0; i < sortedDays.size(); i += fanOutDaysPerChunk) {
+            chunks.add(sortedDays.subList(i, Math.min(i + fanOutDaysPerChunk, sortedDays.size())));
+        }
 
-            // 3. 응답 파싱
-            if (response != null && !response.getChoices().isEmpty()) {
-                String content = response.getChoices().get(0).getMessage().getContent();
-                content = content.replace("```json", "").replace("```", "").trim();
-                AiDto.AiScheduleResult aiResult = objectMapper.readValue(content, AiDto.AiScheduleResult.class);
+        // 2. 구간별 OpenAI 호출을 동시에 실행
+        // 한 작업이 풀에 넣어 두는 구간은 최대 fanOutMaxParallel개 -> 하나가 끝날 때마다 다음 구간을 넣음
+        // (긴 여행의 구간이 공유 풀의 스레드/대기열을 모두 차지해서 다른 작업을 막지 않도록)
+        ExecutorCompletionService<ChunkResult> completion = new ExecutorCompletionService<>(aiFanOutExecutor);
+        int submitted = 0;
+        while (submitted < Math.min(Math.max(1, fanOutMaxParallel), chunks.size())) {
+            submitChunk(completion, trip, pref, chunks.get(submitted++));
+        }
 
-                // 4. DB 저장 (Entity 변환)
-                saveSchedules(aiResult, days, trip);
+        // 3. 끝나는 순서대로 저장 (저장은 이 스레드에서만 -> 같은 days 목록을 동시에 건드리지 않음)
+        List<AiDto.AiDailyPlan> generated = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            ChunkResult result;
+            try {
+                result = completion.take().get();
+            } catch (Exception e) {
+                throw new RuntimeException("AI 일정 생성 실패: " + e.getMessage());
+            }
+            if (submitted < chunks.size()) {
+                submitChunk(completion, trip, pref, chunks.get(submitted++));
             }
+            AiDto.AiScheduleResult aiResult = result.error() == null ? onlyChunkDays(result.result(), result.chunk()) : null;
+            if (aiResult == null || aiResult.getSchedule().isEmpty()) {
+                System.err.println("AI 구간 생성 실패 (" + result.chunk().get(0).getDayNumber() + "일차~): "
+                        + (result.error() != null ? result.error().getMessage() : "빈 응답"));
+                continue;
+            }
+            generated.addAll(aiResult.getSchedule());
+            onDaySaved.accept(saveSchedules(aiResult, days, trip));
+        }
+
+        // 4. 실패한 구간이나 응답에서 빠진 날짜만 다시 생성
+        fillMissingDays(trip, days, pref, generated, onDaySaved);
+        generated.sort(Comparator.comparingInt(AiDto.AiDailyPlan::getDay));
+        AiDto.AiScheduleResult result = new AiDto.AiScheduleResult();
+        result.setSchedule(generated);
+        return result;
+    }
+
+    // 구간 하나의 실행 결과
+    private record ChunkResult(List<Day> chunk, AiDto.AiScheduleResult result, Exception error) {}
 
+    // 구간 하나를 공유 풀에 넣음 (대기열이 꽉 차면 CallerRunsPolicy로 이 작업 스레드에서 바로 실행)
+    private void submitChunk(ExecutorCompletionService<ChunkResult> completion, Trip trip, TripPreference pref,
+                             List<Day> chunk) {
+        completion.submit(() -> {
+            try {
+                String prompt = createPrompt(trip, pref, chunk.get(0), chunk.get(chunk.size() - 1));
+                return new ChunkResult(chunk, requestSchedule(trip, prompt, chunk.size()), null);
+            } catch (Exception e) {
+                return new ChunkResult(chunk, null, e);
+            }
+        });
+    }
+
+    // 캐시(또는 동시에 생성된 다른 작업)의 일정을 이 여행의 Day들에 그대로 저장
+    // 일정은 일차 번호로만 연결되므로 새 여행의 날짜에 맞춰 저장됨
+    public void saveSharedSchedule(AiDto.AiScheduleResult aiResult, Trip trip, List<Day> days,
+                                   Consumer<List<Schedule>> onDaySaved) {
+        onDaySaved.accept(saveSchedules(aiResult, days, trip));
+    }
+
+    // 응답에서 해당 구간의 일차만 남김
+    // (모델이 구간 안에서 1일차부터 다시 번호를 매긴 경우, 개수가 같으면 순서대로 다시 매김)
+    private AiDto.AiScheduleResult onlyChunkDays(AiDto.AiScheduleResult aiResult, List<Day> chunk) {
+        if (aiResult == null || aiResult.getSchedule() == null) return null;
+        int from = chunk.get(0).getDayNumber();
+        int to = chunk.get(chunk.size() - 1).getDayNumber();
+        List<AiDto.AiDailyPlan> plans = aiResult.getSchedule().stream()
+                .filter(p -> p.getDay() >= from && p.getDay() <= to)
+                .collect(Collectors.toList());
+        if (plans.isEmpty() && aiResult.getSchedule().size() == chunk.size()) {
+            plans = aiResult.getSchedule();
+            for (int i = 0; i < plans.size(); i++) {
+                plans.get(i).setDay(from + i);
+            }
+        }
+        AiDto.AiScheduleResult filtered = new AiDto.AiScheduleResult();
+        filtered.setSchedule(plans);
+        return filtered;
+    }
+
+    // 스트리밍 모드: 응답이 조각으로 들어오는 동안 하루치 일정이 완성될 때마다 바로 DB에 저장
+    // onDaySaved: 하루치가 저장될 때마다 저장된 Schedule 목록을 받음 (진행 상황 전달용)
+    // 첫날 일정이 전체 생성 시간이 아니라 몇 초 만에 저장됨
+    public AiDto.AiScheduleResult createAiScheduleStreaming(Trip trip, List<Day> days, TripPreference pref,
+                                          Consumer<List<Schedule>> onDaySaved) {
+        try {
+            String prompt = createPrompt(trip, pref);
+            HttpEntity<AiDto.ChatRequest> entity = chatEntity(prompt, true);
+
+            // 하루치가 완성되면 -> 그 날짜만 저장 -> 콜백
+            List<AiDto.AiDailyPlan> generated = new ArrayList<>();
+            AiScheduleStreamParser parser = new AiScheduleStreamParser(objectMapper, dayPlan -> {
+                generated.add(dayPlan);
+                AiDto.AiScheduleResult single = new AiDto.AiScheduleResult();
+                single.setSchedule(List.of(dayPlan));
+                onDaySaved.accept(saveSchedules(single, days, trip));
+            });
+
+            callOpenAi(trip, prompt, days.size(), () -> restTemplate.execute(CHAT_COMPLETIONS_URL, HttpMethod.POST, restTemplate.httpEntityCallback(entity), response -> {
+                // 응답은 "data: {...}" 줄 단위(SSE)로 들어옴
+                BufferedReader reader = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("data:")) continue;
+                    String data = line.substring(5).trim();
+                    if ("[DONE]".equals(data)) break;
+
+                    AiDto.ChatStreamChunk chunk = objectMapper.readValue(data, AiDto.ChatStreamChunk.class);
+                    if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) continue;
+                    AiDto.Delta delta = chunk.getChoices().get(0).getDelta();
+                    if (delta != null) {
+                        parser.feed(delta.getContent());
+                    }
+                }
+                parser.end();
+                return null;
+            }));
+
+            if (parser.isTruncated()) {
+                System.err.println("AI 응답이 중간에 끊김 (살린 날짜 " + parser.getDayCount() + "개, 잘려서 다시 생성할 날짜 "
+                        + parser.getPartialDays() + ")");
+            }
+            // 응답에서 빠진 날짜만 다시 생성
+            fillMissingDays(trip, days, pref, generated, onDaySaved);
+
+            AiDto.AiScheduleResult result = new AiDto.AiScheduleResult();
+            result.setSchedule(generated);
+            return result;
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException("AI 일정 생성 실패: " + e.getMessage());
         }
     }
 
+    // OpenAI 요청 (헤더 + 본문)
+    // 모든 OpenAI 호출은 여기를 거침
+    // 공용 한도 관리자(OpenAiRateLimiter)에서 차례를 받은 뒤 호출하고, 429를 받으면 백오프가 끝날 때까지 다시 줄을 섬
+    // (429는 응답 본문을 읽기 전에 오므로 스트리밍 모드에서도 저장된 날짜 없이 처음부터 다시 호출됨)
+    private <T> T callOpenAi(Trip trip, String prompt, int dayCount, Callable<T> call) throws Exception {
+        String userKey = trip.getCreator() != null ? String.valueOf(trip.getCreator().getId()) : String.valueOf(trip.getId());
+        // 토큰 추정: 프롬프트(한글 위주라 대략 2글자당 1토큰) + 생성할 일수만큼의 출력
+        int estimatedTokens = prompt.length() / 2 + dayCount * outputTokensPerDay;
+
+        for (int attempt = 0; ; attempt++) {
+            try (OpenAiRateLimiter.Permit permit = rateLimiter.acquire(userKey, estimatedTokens)) {
+                T result = call.call();
+                rateLimiter.onSuccess();
+                return result;
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                rateLimiter.onThrottled(retryAfterMs(e));
+                if (attempt >= maxRetries) throw e;
+                System.err.println("OpenAI 429 응답, 백오프 후 다시 시도 (" + (attempt + 1) + "/" + maxRetries + ")");
+            }
+        }
+    }
+
+    // Retry-After 헤더(초 단위)가 있으면 그만큼 쉼
+    private Long retryAfterMs(HttpClientErrorException e) {
+        String retryAfter = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter == null) return null;
+        try {
+            return (long) (Double.parseDouble(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private HttpEntity<AiDto.ChatRequest> chatEntity(String prompt, boolean stream) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(openAiKey);
+
+        AiDto.ChatRequest request = new AiDto.ChatRequest("gpt-4o", prompt); // 모델명 확인
+        if (stream) {
+            request.setStream(true);
+        }
+        return new HttpEntity<>(request, headers);
+    }
+
     // 프롬프트 생성 메서드 (기존 Deno 코드 내용 복사)
     private String createPrompt(Trip trip, TripPreference pref) {
+        return createPrompt(trip, pref, null, null);
+    }
+
+    // fromDay~toDay가 주어지면 그 구간의 일정만 요청하는 프롬프트 (분할 모드)
+    private String createPrompt(Trip trip, TripPreference pref, Day fromDay, Day toDay) {
         // 1. null일 수 있는 값들을 안전하게 처리
         String interests = (pref.getInterests() != null && !pref.getInterests().isEmpty()) ? String.join(", ", pref.getInterests()) : "특별한 요청 없음";
         String travelStyle = trip.getTheme() != null ? trip.getTheme() : "자유 여행";
@@ -81,6 +381,21 @@ public class AIService {
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
         boolean hasDepartureFlight = trip.getFlightOutDept() != null && trip.getFlightOutArr() != null;
         boolean hasArrivalFlight = trip.getFlightInDept() != null && trip.getFlightInArr() != null;
+        int totalDays = (int) ChronoUnit.DAYS.between(trip.getStartDate(), trip.getEndDate()) + 1;
+
+        // 구간 요청이면 그 구간에 첫날/마지막 날이 들어있을 때만 해당 항공편 정보를 넣음
+        String rangeConstraints = "";
+        if (fromDay != null && toDay != null) {
+            hasDepartureFlight = hasDepartureFlight && fromDay.getDayNumber() == 1;
+            hasArrivalFlight = hasArrivalFlight && toDay.getDayNumber() == totalDays;
+            rangeConstraints = """
+                [이번에 생성할 날짜]
+                - 전체 %d일 여행 중 %d일차(%s) ~ %d일차(%s)의 일정만 생성해줘.
+                - "day" 값은 전체 여행 기준 일차 번호(%d ~ %d)를 그대로 사용해줘.
+                - 나머지 날짜는 따로 생성되므로, 이 기간 안에서 가까운 장소끼리 동선을 묶어줘.
+                """.formatted(totalDays, fromDay.getDayNumber(), fromDay.getDate(), toDay.getDayNumber(), toDay.getDate(),
+                    fromDay.getDayNumber(), toDay.getDayNumber());
+        }
 
         if (hasDepartureFlight || hasArrivalFlight) {
             StringBuilder sb = new StringBuilder("\n[확정된 항공편 정보 (이 시간은 반드시 비워둘 것)]\n");
@@ -109,7 +424,7 @@ public class AIService {
             - 도시: %s (%s)
             - 여행 기간: %s 부터 %s 까지
             - 여행 테마: %s
-            %s
+            %s%s
             [여행자 취향]
             - 동행자: %s
             - 여행 속도: %s
@@ -152,6 +467,7 @@ public class AIService {
                 trip.getEndDate().toString(),
                 travelStyle,
                 flightConstraints, // 항공편 제약조건
+                rangeConstraints, // 분할 모드의 생성 구간 (전체 생성이면 빈 문자열)
                 pref.getCompanion(),
                 pref.getPace(),
                 pref.getAccommodation(),
@@ -170,7 +486,7 @@ public class AIService {
     }
 
 	// DB 저장 메서드 -> 스케줄 시간순 정렬 및 순서 번호(display) 부여 로직 추가 -> 항공편 정리
-    private void saveSchedules(AiDto.AiScheduleResult aiResult, List<Day> days, Trip trip) {
+    private List<Schedule> saveSchedules(AiDto.AiScheduleResult aiResult, List<Day> days, Trip trip) {
         // --- 1. 항공편과 일반 일정을 분리 ---
         List<Schedule> generalSchedules = new ArrayList<>();
         List<Schedule> departureFlights = new ArrayList<>();
@@ -188,7 +504,7 @@ public class AIService {
             if (targetDay == null) continue; // 해당 날짜가 없으면 건너뛰기
 
             for (AiDto.AiActivity act : dayPlan.getActivities()) {
-                Schedule schedule = buildSchedule(act, targetDay);
+                Schedule schedule = buildSchedule(act, targetDay, trip);
                 
                 // 항공편인지, 일반 일정인지 카테고리로 구분
                 if ("plane".equalsIgnoreCase(act.getCategory())) {
@@ -226,10 +542,11 @@ public class AIService {
         
         List<Schedule> finalSchedulesToSave = new ArrayList<>();
         
-        // DB에 저장된 Day 순서대로(1일차, 2일차...) 정렬하기 위해
-        days.sort(Comparator.comparing(Day::getDayNumber)); 
+        // DB에 저장된 Day 순서대로(1일차, 2일차...) 정렬하기 위해 (넘겨받은 목록은 건드리지 않도록 복사)
+        List<Day> sortedDays = new ArrayList<>(days);
+        sortedDays.sort(Comparator.comparing(Day::getDayNumber)); 
         
-        for (Day day : days) {
+        for (Day day : sortedDays) {
             List<Schedule> dailySchedules = schedulesByDay.get(day);
             if (dailySchedules != null) {
                 // 시간순 정렬
@@ -244,11 +561,23 @@ public class AIService {
         }
         
         // --- 5. 최종 저장 ---
-        scheduleRepository.saveAll(finalSchedulesToSave);
+        return scheduleRepository.saveAll(finalSchedulesToSave);
     }
 
     // [수정] 클래스 레벨로 이동
-    private Schedule buildSchedule(AiDto.AiActivity act, Day day) {
+    private Schedule buildSchedule(AiDto.AiActivity act, Day day, Trip trip) {
+        Double lat = act.getLat();
+        Double lng = act.getLng();
+        // AI가 여행 도시와 동떨어진 좌표를 만든 경우 좌표만 버림 (항공편은 출발지 좌표일 수 있으므로 제외)
+        if (lat != null && lng != null && trip.getLatitude() != null && trip.getLongitude() != null
+                && !"plane".equalsIgnoreCase(act.getCategory())) {
+            double distanceKm = CityKdTree.distanceKm(trip.getLatitude().doubleValue(), trip.getLongitude().doubleValue(), lat, lng);
+            if (distanceKm > maxScheduleDistanceKm) {
+                System.err.println("여행 도시에서 " + Math.round(distanceKm) + "km 떨어진 일정 좌표를 버림: " + act.getActivity());
+                lat = null;
+                lng = null;
+            }
+        }
         return Schedule.builder()
                 .day(day)
                 .time(parseTime(act.getTime()))
@@ -256,8 +585,8 @@ public class AIService {
                 .activity(act.getActivity())
                 .description(act.getDescription())
                 .icon(act.getCategory())
-                .lat(BigDecimal.valueOf(act.getLat()))
-                .lng(BigDecimal.valueOf(act.getLng()))
+                .lat(lat != null ? BigDecimal.valueOf(lat) : null) // 좌표가 빠진 활동도 저장
+                .lng(lng != null ? BigDecimal.valueOf(lng) : null)
                 .isAiGenerated(true)
                 .status(ScheduleStatus.PLANNED)
                 .build();
@@ -0,0 +1,69 @@
+package com.trip.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.trip.dto.TripDto;
+
+import lombok.Getter;
+
+//AI 일정 생성 작업 하나의 진행 상태
+//작업 스레드가 값을 바꾸고, 요청 스레드(상태 조회 API)가 읽으므로 필드를 volatile로 둠
+@Getter
+public class AiJob {
+
+	public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+	private final UUID tripId;
+	private final String userEmail; // 작업을 요청한 사용자 (상태 조회 권한 확인용)
+	private final int totalDays;
+	private final LocalDateTime createdAt = LocalDateTime.now();
+
+	// 지금까지 저장된 하루치 일정 (나중에 SSE로 연결한 클라이언트에게 다시 보내주기 위해 보관)
+	private final List<TripDto.DailyScheduleData> savedDays = new CopyOnWriteArrayList<>();
+
+	private volatile Status status = Status.QUEUED;
+	private volatile int completedDays = 0;
+	private volatile String error;
+	private volatile LocalDateTime updatedAt = createdAt;
+
+	public AiJob(UUID tripId, String userEmail, int totalDays) {
+		this.tripId = tripId;
+		this.userEmail = userEmail;
+		this.totalDays = totalDays;
+	}
+
+	void markRunning() {
+		this.status = Status.RUNNING;
+		this.updatedAt = LocalDateTime.now();
+	}
+
+	void markDaysCompleted(int completedDays) {
+		this.completedDays = completedDays;
+		this.updatedAt = LocalDateTime.now();
+	}
+
+	void addSavedDay(TripDto.DailyScheduleData dayData) {
+		savedDays.add(dayData);
+		this.completedDays = savedDays.size();
+		this.updatedAt = LocalDateTime.now();
+	}
+
+	public boolean isFinished() {
+		return status == Status.DONE || status == Status.FAILED;
+	}
+
+	void markDone() {
+		this.completedDays = Math.max(completedDays, savedDays.size());
+		this.status = Status.DONE;
+		this.updatedAt = LocalDateTime.now();
+	}
+
+	void markFailed(String error) {
+		this.error = error;
+		this.status = Status.FAILED;
+		this.updatedAt = LocalDateTime.now();
+	}
+}
@@ -0,0 +1,202 @@
+package com.trip.service;
+
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.trip.dto.AiDto;
+import com.trip.dto.TripDto;
+import com.trip.entity.Day;
+import com.trip.entity.Schedule;
+import com.trip.entity.Trip;
+import com.trip.entity.TripPreference;
+import com.trip.util.ExpiringLruCache;
+
+//AI 일정 생성을 HTTP 요청/DB 트랜잭션과 분리해서 백그라운드 작업으로 실행하는 서비스
+//createTrip은 여행과 Day를 저장(커밋)한 뒤 여기에 작업을 넣고 바로 응답함
+//클라이언트는 GET /api/trips/{tripId}/ai-job 으로 진행 상태를 확인하거나
+//GET /api/trips/{tripId}/ai-job/stream (SSE)으로 하루치 일정이 저장될 때마다 받아볼 수 있음
+//작업은 메모리에만 있으므로 실패하거나(대기열 가득 참 등) 서버 재시작으로 사라지면
+//POST /api/trips/{tripId}/ai-job 으로 DB에 저장된 취향/날짜를 다시 읽어 재등록
+@Service
+public class AiJobService {
+
+	private static final long SSE_TIMEOUT_MS = 5 * 60 * 1000L;
+
+	private final AIService aiService;
+	private final ThreadPoolTaskExecutor aiJobExecutor;
+	private final ItineraryCache itineraryCache;
+	// tripId -> 작업 상태 (끝난 작업도 일정 시간 동안 조회할 수 있게 보관)
+	private final ExpiringLruCache<UUID, AiJob> jobs = new ExpiringLruCache<>(10000, 6 * 60 * 60 * 1000L);
+	// tripId -> 진행 상황을 받아보는 SSE 연결들
+	private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+	@Value("${ai.generation.mode:stream}")
+	private String generationMode; // stream: 하루치씩 저장, fanout: 구간별 동시 생성, blocking: 전체 응답을 받은 뒤 한 번에 저장
+
+	@Autowired
+	public AiJobService(AIService aiService, @Qualifier("aiJobExecutor") ThreadPoolTaskExecutor aiJobExecutor,
+			ItineraryCache itineraryCache) {
+		this.aiService = aiService;
+		this.aiJobExecutor = aiJobExecutor;
+		this.itineraryCache = itineraryCache;
+	}
+
+	// 작업 등록 (trip, days, pref는 이미 커밋된 엔티티)
+	public synchronized AiJob submit(Trip trip, List<Day> days, TripPreference pref, String userEmail) {
+		AiJob job = new AiJob(trip.getId(), userEmail, days.size());
+		jobs.put(trip.getId(), job);
+		try {
+			aiJobExecutor.execute(() -> run(job, trip, days, pref));
+		} catch (RejectedExecutionException e) {
+			// 작업 스레드와 대기열이 모두 꽉 찬 경우 -> 여행은 이미 저장되었으므로 작업만 실패 처리
+			job.markFailed("AI 일정 생성 요청이 많아 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+		}
+		return job;
+	}
+
+	// 다시 등록 (작업이 없거나 실패한 경우만, 대기/실행 중이거나 끝난 작업이 있으면 null)
+	// 확인과 등록을 한 번에 -> 동시에 두 번 눌러도 작업은 하나만 등록됨
+	public synchronized AiJob resubmit(Trip trip, List<Day> days, TripPreference pref, String userEmail) {
+		AiJob current = jobs.get(trip.getId());
+		if (current != null && current.getStatus() != AiJob.Status.FAILED) return null;
+		return submit(trip, days, pref, userEmail);
+	}
+
+	public AiJob getJob(UUID tripId) {
+		return jobs.get(tripId);
+	}
+
+	// SSE 구독: 현재 상태와 이미 저장된 날짜들을 먼저 보내고, 이후 저장되는 날짜를 계속 보냄
+	public SseEmitter subscribe(AiJob job) {
+		SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+		synchronized (job) { // 다시 보내는 동안 새 날짜가 끼어들지 않도록
+			try {
+				emitter.send(SseEmitter.event().name("status").data(new AiDto.JobStatusResponse(job)));
+				for (TripDto.DailyScheduleData dayData : job.getSavedDays()) {
+					emitter.send(SseEmitter.event().name("day").data(dayData));
+				}
+			} catch (IOException e) {
+				emitter.completeWithError(e);
+				return emitter;
+			}
+			if (job.isFinished()) {
+				emitter.complete();
+				return emitter;
+			}
+			List<SseEmitter> list = subscribers.computeIfAbsent(job.getTripId(), k -> new CopyOnWriteArrayList<>());
+			list.add(emitter);
+			emitter.onCompletion(() -> list.remove(emitter));
+			emitter.onTimeout(() -> list.remove(emitter));
+		}
+		return emitter;
+	}
+
+	private void run(AiJob job, Trip trip, List<Day> days, TripPreference pref) {
+		job.markRunning();
+		broadcastStatus(job);
+		try {
+			// 1. 같은 지문의 일정이 캐시에 있으면 OpenAI 호출 없이 재사용
+			String fingerprint = itineraryCache.fingerprint(trip, pref);
+			AiDto.AiScheduleResult shared = itineraryCache.get(fingerprint);
+
+			// 2. 없으면 생성 담당으로 등록, 이미 누가 생성 중이면 그 결과를 기다림
+			CompletableFuture<Boolean> mine = new CompletableFuture<>();
+			if (shared == null) {
+				CompletableFuture<Boolean> leader = itineraryCache.claim(fingerprint, mine);
+				if (leader != null) {
+					shared = itineraryCache.awaitShared(fingerprint, leader);
+				}
+			}
+
+			if (shared != null) {
+				aiService.saveSharedSchedule(shared, trip, days, saved -> onDaySaved(job, saved));
+			} else {
+				// 3. 직접 생성 (기다리던 작업이 실패해서 여기로 온 경우엔 등록 없이 생성만)
+				try {
+					AiDto.AiScheduleResult generated = generate(job, trip, days, pref);
+					// 다시 등록한 작업은 일부 날짜만 생성하므로 여행 전체 일수와 같을 때만 캐시에 저장됨
+					long tripDays = ChronoUnit.DAYS.between(trip.getStartDate(), trip.getEndDate()) + 1;
+					itineraryCache.complete(fingerprint, mine, generated, (int) tripDays);
+				} finally {
+					itineraryCache.fail(fingerprint, mine); // complete 후에는 아무 일도 하지 않음
+				}
+			}
+			job.markDone();
+		} catch (Exception e) {
+			System.err.println("AI 일정 생성 작업 실패 (trip " + trip.getId() + "): " + e.getMessage());
+			job.markFailed(e.getMessage());
+		}
+		broadcastStatus(job);
+		completeSubscribers(job);
+	}
+
+	private AiDto.AiScheduleResult generate(AiJob job, Trip trip, List<Day> days, TripPreference pref) {
+		if ("blocking".equalsIgnoreCase(generationMode)) {
+			AiDto.AiScheduleResult result = aiService.createAiSchedule(trip, days, pref);
+			job.markDaysCompleted(days.size());
+			return result;
+		} else if ("fanout".equalsIgnoreCase(generationMode)) {
+			return aiService.createAiScheduleFanOut(trip, days, pref, saved -> onDaySaved(job, saved));
+		}
+		return aiService.createAiScheduleStreaming(trip, days, pref, saved -> onDaySaved(job, saved));
+	}
+
+	// 하루치가 저장될 때마다: 날짜별 DTO로 바꿔서 보관 + 구독자에게 전송
+	private void onDaySaved(AiJob job, List<Schedule> saved) {
+		Map<Day, List<Schedule>> byDay = saved.stream()
+				.collect(Collectors.groupingBy(Schedule::getDay, LinkedHashMap::new, Collectors.toList()));
+		synchronized (job) {
+			for (Map.Entry<Day, List<Schedule>> entry : byDay.entrySet()) {
+				Day day = entry.getKey();
+				TripDto.DailyScheduleData dayData = new TripDto.DailyScheduleData();
+				dayData.setDay(day.getDayNumber());
+				dayData.setDate(day.getDate().toString());
+				dayData.setDayId(day.getId().toString());
+				dayData.setPlans(entry.getValue().stream().map(TripDto.ScheduleDto::new).collect(Collectors.toList()));
+				job.addSavedDay(dayData);
+				send(job, "day", dayData);
+			}
+		}
+	}
+
+	private void broadcastStatus(AiJob job) {
+		synchronized (job) {
+			send(job, "status", new AiDto.JobStatusResponse(job));
+		}
+	}
+
+	private void send(AiJob job, String eventName, Object data) {
+		List<SseEmitter> list = subscribers.get(job.getTripId());
+		if (list == null) return;
+		for (SseEmitter emitter : list) {
+			try {
+				emitter.send(SseEmitter.event().name(eventName).data(data));
+			} catch (IOException | IllegalStateException e) {
+				// 클라이언트가 연결을 끊은 경우
+				list.remove(emitter);
+			}
+		}
+	}
+
+	private void completeSubscribers(AiJob job) {
+		List<SseEmitter> list = subscribers.remove(job.getTripId());
+		if (list == null) return;
+		list.forEach(SseEmitter::complete);
+	}
+}
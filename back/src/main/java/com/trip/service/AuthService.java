@@ -1,34 +1,40 @@
 package com.trip.service;
 //Service : 실제 로직
 import java.sql.Timestamp;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
 
 import com.trip.dto.AuthDto;
 import com.trip.entity.User;
 import com.trip.repository.UserRepository;
 import com.trip.security.JwtUtil;
+import com.trip.security.TokenRevocationStore;
 
 @Service
 public class AuthService {
 
     private final JwtUtil jwtUtil;
 	private final UserRepository userRepository;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher; //비밀번호 해시는 전용 풀에서 (PasswordHasher)
+	private final TokenRevocationStore revocationStore;
 	
 	@Autowired
-	public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+	public AuthService(UserRepository userRepository, PasswordHasher passwordHasher, JwtUtil jwtUtil,
+			TokenRevocationStore revocationStore) {
 		this.userRepository = userRepository;
-		this.passwordEncoder = passwordEncoder;
+		this.passwordHasher = passwordHasher;
 		this.jwtUtil = jwtUtil;
+		this.revocationStore = revocationStore;
 	}
 	
 	// 회원가입 기능
 	// 입력: SignupRequest DTO -> 출력 : UserResponse DTO
-	@Transactional //DB 저장 중 에러나면 롤백
+	//해시 계산(수십~수백 ms) 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션은 save에서만 사용
+	//(이메일 중복은 users.email 유니크 제약이 최종적으로 막음)
 	public AuthDto.UserResponse signup(AuthDto.SignupRequest request) {
 		
 		//1.이메일 중복 체크 로직
@@ -41,7 +47,7 @@ public class AuthService {
 	    user.setEmail(request.getEmail());
 	    user.setName(request.getName());
 	    //비밀번호는 암호화 필수
-	    String encodedPassword = passwordEncoder.encode(request.getPassword());
+	    String encodedPassword = passwordHasher.encode(request.getPassword());
 	    user.setPassword(encodedPassword);
 	    //그 외 사용자가 입력하지 않는 정보들 설정
 	    user.setRole("ROLE_USER"); //기본은 일반 유저
@@ -66,15 +72,67 @@ public class AuthService {
 				.orElseThrow(()->new RuntimeException("가입되지 않은 이메일입니다."));
 		//2.비밀번호 검증
 		//입력받은 비번과 DB의 암호화된 비번이 매칭되는지 검사
-		if(!passwordEncoder.matches(request.getPassword(), user.getPassword()))
+		if(!passwordHasher.matches(request.getPassword(), user.getPassword()))
 			throw new RuntimeException("비밀번호가 일치하지 않습니다.");
 		
+		//BCrypt cost 설정이 바뀌었으면 방금 확인한 비밀번호로 새 cost 해시를 만들어 저장 (사용자는 모름)
+		//실패해도 로그인은 그대로 진행 (다음 로그인 때 다시 시도)
+		if(passwordHasher.needsRehash(user.getPassword())) {
+			try {
+				user.setPassword(passwordHasher.encode(request.getPassword()));
+				user = userRepository.save(user);
+				passwordHasher.recordRehash();
+			} catch (RuntimeException e) {
+				System.err.println("비밀번호 재해시 실패 (" + user.getEmail() + "): " + e.getMessage());
+			}
+		}
+		
 		//3.로그인 성공
-		//토큰 발급 로직 추가
-		String token = jwtUtil.generateToken(user.getEmail());
+		//토큰 발급 로직 추가 (새 로그인 세션 -> 새 family id)
+		String familyId = UUID.randomUUID().toString();
+		String token = jwtUtil.generateToken(user, familyId);
+		String refreshToken = jwtUtil.generateRefreshToken(user, familyId);
 		
 		//비번을 제외한 정보(UserResponse)만 반환됨
-		return new AuthDto.UserResponse(user, token);
+		return new AuthDto.UserResponse(user, token, refreshToken);
+	}
+	
+	//토큰 재발급 기능 (비밀번호 확인 없이 새 access/refresh 토큰 발급 -> 로그인 때의 BCrypt 계산이 없음)
+	//쓴 refresh 토큰은 바로 폐기하고 새 refresh 토큰으로 교체(rotation)
+	//이미 폐기된 refresh 토큰이 다시 들어오면 탈취된 것으로 보고 그 세션 전체를 폐기
+	//유효하지 않으면 IllegalArgumentException
+	public AuthDto.UserResponse refresh(AuthDto.RefreshRequest request) {
+		DecodedJWT jwt = jwtUtil.verify(request.getRefreshToken());
+		if (jwt == null || !jwtUtil.isRefreshToken(jwt) || jwt.getId() == null)
+			throw new IllegalArgumentException("유효하지 않은 refresh 토큰입니다.");
+		String familyId = jwtUtil.getFamily(jwt);
+		
+		//1.이미 쓴 토큰(재사용)이거나 로그아웃한 세션이면 거절
+		if (revocationStore.isTokenRevoked(jwt)) {
+			revocationStore.revokeFamily(familyId, jwtUtil.familyExpiresAt());
+			throw new IllegalArgumentException("이미 사용된 refresh 토큰입니다.");
+		}
+		if (revocationStore.isRevoked(jwt))
+			throw new IllegalArgumentException("로그아웃된 세션입니다.");
+		
+		//2.쓴 토큰 폐기 (동시에 같은 토큰으로 두 번 요청하면 한쪽만 성공)
+		if (!revocationStore.revokeToken(jwt.getId(), jwt.getExpiresAt())) {
+			revocationStore.revokeFamily(familyId, jwtUtil.familyExpiresAt());
+			throw new IllegalArgumentException("이미 사용된 refresh 토큰입니다.");
+		}
+		
+		//3.탈퇴 여부, 바뀐 이름/역할을 반영하기 위해 사용자는 DB에서 읽음 (한 시간에 한 번 정도)
+		User user = userRepository.findByEmail(jwt.getSubject())
+				.orElseThrow(() -> new IllegalArgumentException("가입되지 않은 이메일입니다."));
+		return new AuthDto.UserResponse(user, jwtUtil.generateToken(user, familyId),
+				jwtUtil.generateRefreshToken(user, familyId));
+	}
+	
+	//로그아웃 기능: refresh 토큰이 속한 세션의 토큰을 모두 폐기 (유효하지 않은 토큰이면 아무것도 하지 않음)
+	public void logout(AuthDto.RefreshRequest request) {
+		DecodedJWT jwt = jwtUtil.verify(request.getRefreshToken());
+		if (jwt == null || !jwtUtil.isRefreshToken(jwt)) return;
+		revocationStore.revokeFamily(jwtUtil.getFamily(jwt), jwtUtil.familyExpiresAt());
 	}
 
 }
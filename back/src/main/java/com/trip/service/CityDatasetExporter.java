@@ -0,0 +1,32 @@
+package com.trip.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+//도시 데이터 파일(city.dataset.path)을 만드는 빌드 단계
+//배포 전에 한 번 실행해서 만든 파일을 서버와 함께 두면, 서버는 시작할 때 DB를 읽지 않고 파일만 매핑함
+//실행: java -jar back.jar --spring.profiles.active=city-export --spring.main.web-application-type=none
+@Component
+@Profile("city-export")
+public class CityDatasetExporter implements ApplicationRunner {
+
+	private final CityIndex cityIndex;
+	private final ApplicationContext context;
+
+	@Autowired
+	public CityDatasetExporter(CityIndex cityIndex, ApplicationContext context) {
+		this.cityIndex = cityIndex;
+		this.context = context;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		cityIndex.reload(); // cities_list를 읽어서 파일을 새로 씀
+		System.exit(SpringApplication.exit(context, () -> 0));
+	}
+}
@@ -0,0 +1,174 @@
+package com.trip.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.trip.entity.City;
+import com.trip.repository.CityRepository;
+import com.trip.util.CityDataset;
+import com.trip.util.CityKdTree;
+import com.trip.util.CitySearchEngine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+//도시 검색용 메모리 색인 (검색어를 입력할 때마다 DB를 조회하지 않음)
+//- 도시 데이터는 열 단위 이진 파일(CityDataset, city.dataset.path)을 메모리 매핑해서 사용
+//  파일이 없을 때만 cities_list를 읽어서 파일을 만듦 -> 다음 시작부터는 DB/JPA를 거치지 않음
+//- 그 데이터로 검색 엔진(CitySearchEngine)을 만들어 둠 (만든 뒤에는 바꾸지 않음)
+//- 접두어 일치 + 오타 허용 + 한글 별칭(city-aliases.properties) + 국가 필터, 점수와 인구 순으로 limit개 반환
+//- 같은 데이터로 좌표 KD-tree도 만들어 둠 -> 가까운 도시 N개, 반경 내 도시, 좌표가 속한 도시 조회
+//- cities_list가 바뀌면(개수/최대 id/인구 합이 달라지면) 새 엔진/트리를 만들어 통째로 교체
+@Component
+public class CityIndex {
+
+	private static final String ALIASES_FILE = "city-aliases.properties";
+
+	private final CityRepository cityRepository;
+	private final int maxLimit;
+	private final int precomputedPrefixLength;
+	private final Map<String, List<String>> cityAliases = new HashMap<>();
+	private final Map<String, String> countryAliases = new HashMap<>();
+	private final Timer searchTimer;
+
+	private final double locateMaxKm;
+
+	private final Path datasetPath; // null이면 파일 없이 매번 DB에서 만듦
+
+	private volatile Snapshot snapshot;
+
+	@Autowired
+	public CityIndex(CityRepository cityRepository,
+			@Value("${city.index.max-limit:50}") int maxLimit,
+			@Value("${city.index.precomputed-prefix-length:2}") int precomputedPrefixLength,
+			@Value("${city.locate.max-km:50}") double locateMaxKm,
+			@Value("${city.dataset.path:data/cities.bin}") String datasetPath,
+			MeterRegistry meterRegistry) {
+		this.cityRepository = cityRepository;
+		this.maxLimit = maxLimit;
+		this.precomputedPrefixLength = precomputedPrefixLength;
+		this.locateMaxKm = locateMaxKm;
+		this.datasetPath = datasetPath.isBlank() ? null : Path.of(datasetPath);
+		loadAliases();
+		this.snapshot = build(CityDataset.fromCities(List.of(), 0, null, null));
+		meterRegistry.gauge("city.index.size", this, i -> i.snapshot.engine().size());
+		this.searchTimer = Timer.builder("city.search").register(meterRegistry); // 검색 한 번에 걸린 시간
+	}
+
+	// 시작할 때 데이터 파일이 있으면 DB를 읽지 않고 파일을 메모리 매핑해서 사용
+	// (파일이 예전 것이면 refreshIfChanged가 확인해서 다시 만듦)
+	@PostConstruct
+	public void load() {
+		if (datasetPath != null && Files.exists(datasetPath)) {
+			try {
+				CityDataset dataset = CityDataset.open(datasetPath);
+				snapshot = build(dataset);
+				return;
+			} catch (IOException | RuntimeException e) {
+				System.err.println("도시 데이터 파일 읽기 실패, DB에서 다시 만듦: " + e.getMessage());
+			}
+		}
+		reload();
+	}
+
+	// cities_list가 바뀌었는지 주기적으로 확인 (바뀌었을 때만 다시 읽음)
+	@Scheduled(fixedDelayString = "${city.index.refresh-ms:600000}", initialDelayString = "${city.index.refresh-ms:600000}")
+	public void refreshIfChanged() {
+		CityRepository.CityTableStamp stamp = cityRepository.findTableStamp();
+		if (!sameStamp(stamp, snapshot.dataset())) {
+			reload();
+		}
+	}
+
+	// 테이블 전체를 다시 읽어서 데이터 파일을 새로 쓰고, 새 엔진으로 교체 (교체 전까지는 이전 엔진으로 계속 응답)
+	public synchronized void reload() {
+		CityRepository.CityTableStamp stamp = cityRepository.findTableStamp();
+		List<City> cities = cityRepository.findAll();
+		CityDataset dataset = CityDataset.fromCities(cities, stamp.getCount(), stamp.getMaxId(), stamp.getPopulationSum());
+		if (datasetPath != null) {
+			try {
+				dataset.writeTo(datasetPath);
+				dataset = CityDataset.open(datasetPath); // 힙에 만든 버퍼 대신 매핑된 파일을 사용
+			} catch (IOException e) {
+				System.err.println("도시 데이터 파일 저장 실패 (메모리에서만 사용): " + e.getMessage());
+			}
+		}
+		snapshot = build(dataset);
+	}
+
+	// query와 비슷한 도시를 점수 순으로 최대 limit개 (country: 영문 국가 이름 또는 별칭, 없으면 전체)
+	public List<City> search(String query, String country, int limit) {
+		CitySearchEngine current = snapshot.engine(); // 검색 도중 교체되어도 같은 엔진을 끝까지 사용
+		return searchTimer.record(() -> current.search(query, country, limit));
+	}
+
+	// (lat, lng)에서 가까운 도시를 가까운 순으로 최대 limit개
+	public List<CityKdTree.Hit> nearest(double lat, double lng, int limit) {
+		return snapshot.kdTree().nearest(lat, lng, Math.min(limit, maxLimit));
+	}
+
+	// (lat, lng)에서 radiusKm 이내의 도시를 가까운 순으로 최대 limit개
+	public List<CityKdTree.Hit> within(double lat, double lng, double radiusKm, int limit) {
+		return snapshot.kdTree().within(lat, lng, radiusKm, Math.min(limit, maxLimit));
+	}
+
+	// 좌표가 속한 도시 (가장 가까운 도시가 city.locate.max-km 안에 있을 때만, 없으면 null)
+	public CityKdTree.Hit locate(double lat, double lng) {
+		List<CityKdTree.Hit> hits = snapshot.kdTree().within(lat, lng, locateMaxKm, 1);
+		return hits.isEmpty() ? null : hits.get(0);
+	}
+
+	// city.<별칭>=<도시>, country.<별칭>=<국가> 형식의 별칭 파일 읽기 (없으면 별칭 없이 동작)
+	private void loadAliases() {
+		ClassPathResource resource = new ClassPathResource(ALIASES_FILE);
+		if (!resource.exists()) return;
+		Properties properties = new Properties();
+		try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (IOException e) {
+			System.err.println("도시 별칭 파일 읽기 실패: " + e.getMessage());
+			return;
+		}
+		for (String key : properties.stringPropertyNames()) {
+			String value = properties.getProperty(key).trim();
+			if (key.startsWith("city.")) {
+				cityAliases.computeIfAbsent(value, k -> new ArrayList<>()).add(key.substring("city.".length()));
+			} else if (key.startsWith("country.")) {
+				countryAliases.put(key.substring("country.".length()), value);
+			}
+		}
+	}
+
+	private Snapshot build(CityDataset dataset) {
+		return new Snapshot(dataset,
+				new CitySearchEngine(dataset, cityAliases, countryAliases, maxLimit, precomputedPrefixLength),
+				new CityKdTree(dataset));
+	}
+
+	// 검색 엔진과 좌표 트리는 같은 데이터로 만들어서 함께 교체
+	private record Snapshot(CityDataset dataset, CitySearchEngine engine, CityKdTree kdTree) {}
+
+	// 데이터셋을 만들 당시의 테이블 확인값과 지금 값이 같은지
+	private static boolean sameStamp(CityRepository.CityTableStamp stamp, CityDataset dataset) {
+		return stamp.getCount() == dataset.getStampCount()
+				&& Objects.equals(stamp.getMaxId(), dataset.getStampMaxId())
+				&& Objects.equals(stamp.getPopulationSum(), dataset.getStampPopulationSum());
+	}
+}
@@ -0,0 +1,162 @@
+package com.trip.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trip.dto.AiDto;
+import com.trip.entity.Trip;
+import com.trip.entity.TripPreference;
+import com.trip.util.ExpiringLruCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+//AI가 만든 일정(AiScheduleResult)을 "프롬프트 지문" 단위로 공유하는 캐시
+//도시/국가/여행 일수/테마/항공편 시간/취향(속도, 예산, 동행자, 숙소, 관심사)이 같으면 같은 지문이 됨
+//- 일정은 일차 번호(day)로만 저장되므로, 다른 날짜의 여행에 그대로 저장하면 새 여행 날짜로 맞춰짐
+//- 같은 지문의 요청이 동시에 들어오면 첫 요청만 OpenAI를 호출하고, 나머지는 그 결과를 기다렸다가 재사용 (single-flight)
+@Component
+public class ItineraryCache {
+
+	// 캐시에는 JSON 문자열로 보관 -> 꺼낼 때마다 새 객체가 만들어지므로 여러 작업이 같은 객체를 건드리지 않음
+	private final ExpiringLruCache<String, String> cache;
+	// 지문 -> 지금 생성 중인 작업이 끝나면 완료되는 future (true: 캐시에 저장됨)
+	private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final long waitMs;
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter joined;
+
+	@Autowired
+	public ItineraryCache(@Value("${ai.itinerary-cache.max-size:2000}") int maxSize,
+			@Value("${ai.itinerary-cache.ttl-hours:24}") long ttlHours,
+			@Value("${ai.itinerary-cache.wait-ms:180000}") long waitMs,
+			MeterRegistry meterRegistry) {
+		this.cache = new ExpiringLruCache<>(maxSize, ttlHours * 60 * 60 * 1000);
+		this.waitMs = waitMs;
+		// /actuator/metrics/ai.itinerary.cache.requests?tag=result:hit 로 확인 가능
+		this.hits = Counter.builder("ai.itinerary.cache.requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder("ai.itinerary.cache.requests").tag("result", "miss").register(meterRegistry);
+		this.joined = Counter.builder("ai.itinerary.cache.requests").tag("result", "joined").register(meterRegistry);
+		meterRegistry.gauge("ai.itinerary.cache.size", cache, ExpiringLruCache::size);
+	}
+
+	// 프롬프트에 들어가는 값 중 날짜를 뺀 나머지로 지문을 만듦 (대소문자/공백/관심사 순서 차이는 무시)
+	public String fingerprint(Trip trip, TripPreference pref) {
+		long totalDays = ChronoUnit.DAYS.between(trip.getStartDate(), trip.getEndDate()) + 1;
+		List<String> interests = new ArrayList<>();
+		if (pref.getInterests() != null) {
+			pref.getInterests().forEach(i -> interests.add(normalize(i)));
+		}
+		interests.sort(null);
+
+		String canonical = String.join("|",
+				normalize(trip.getCity()),
+				normalize(trip.getCountry()),
+				String.valueOf(totalDays),
+				normalize(trip.getTheme()),
+				flightTime(trip.getFlightOutDept()), flightTime(trip.getFlightOutArr()),
+				flightTime(trip.getFlightInDept()), flightTime(trip.getFlightInArr()),
+				normalize(pref.getPace()),
+				normalize(pref.getBudget()),
+				normalize(pref.getCompanion()),
+				normalize(pref.getAccommodation()),
+				String.join(",", interests));
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException e) {
+			return canonical; // SHA-256은 모든 JVM에 있으므로 실제로는 오지 않음
+		}
+	}
+
+	// 캐시된 일정의 복사본 (없으면 null)
+	public AiDto.AiScheduleResult get(String fingerprint) {
+		AiDto.AiScheduleResult result = read(cache.get(fingerprint));
+		if (result != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return result;
+	}
+
+	// 이 지문을 생성하는 작업으로 등록
+	// 반환값이 null이면 호출한 쪽이 생성 담당 -> 끝나면 반드시 complete()/fail() 호출
+	// null이 아니면 이미 다른 작업이 생성 중 -> awaitShared()로 결과를 기다림
+	public CompletableFuture<Boolean> claim(String fingerprint, CompletableFuture<Boolean> mine) {
+		CompletableFuture<Boolean> existing = inFlight.putIfAbsent(fingerprint, mine);
+		if (existing != null) joined.increment();
+		return existing;
+	}
+
+	// 다른 작업이 만든 일정을 기다렸다가 복사본을 받음 (실패하거나 시간이 지나면 null -> 직접 생성)
+	public AiDto.AiScheduleResult awaitShared(String fingerprint, CompletableFuture<Boolean> leader) {
+		try {
+			if (Boolean.TRUE.equals(leader.get(waitMs, TimeUnit.MILLISECONDS))) {
+				return read(cache.get(fingerprint));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			System.err.println("공유 일정 대기 실패: " + e.getMessage());
+		}
+		return null;
+	}
+
+	// 생성 완료: 모든 날짜가 채워진 일정만 캐시에 저장하고, 기다리던 작업들을 깨움
+	public void complete(String fingerprint, CompletableFuture<Boolean> mine, AiDto.AiScheduleResult result, int totalDays) {
+		boolean stored = false;
+		if (result != null && result.getSchedule() != null && result.getSchedule().size() == totalDays) {
+			try {
+				cache.put(fingerprint, objectMapper.writeValueAsString(result));
+				stored = true;
+			} catch (JsonProcessingException e) {
+				System.err.println("일정 캐시 저장 실패: " + e.getMessage());
+			}
+		}
+		inFlight.remove(fingerprint, mine);
+		mine.complete(stored);
+	}
+
+	// 생성 실패: 기다리던 작업들은 각자 직접 생성하게 됨
+	public void fail(String fingerprint, CompletableFuture<Boolean> mine) {
+		inFlight.remove(fingerprint, mine);
+		mine.complete(false);
+	}
+
+	private AiDto.AiScheduleResult read(String json) {
+		if (json == null) return null;
+		try {
+			return objectMapper.readValue(json, AiDto.AiScheduleResult.class);
+		} catch (JsonProcessingException e) {
+			return null;
+		}
+	}
+
+	private String normalize(String value) {
+		return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private String flightTime(LocalDateTime time) {
+		return time == null ? "" : time.toLocalTime().toString();
+	}
+}
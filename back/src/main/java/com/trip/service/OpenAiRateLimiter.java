@@ -0,0 +1,260 @@
+package com.trip.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+//모든 OpenAI 호출이 거쳐 가는 입장 관리자 (서버 전체가 하나의 한도를 나눠 씀)
+//1.분당 요청 수 / 분당 토큰 수 한도 (토큰 버킷, 토큰은 프롬프트 길이와 생성할 일수로 추정)
+//2.동시 호출 수 한도
+//3.공정한 대기열: 사용자마다 줄을 따로 세우고 돌아가며 한 건씩 입장 -> 한 사용자의 요청이 몰려도 다른 사용자가 밀리지 않음
+//4.429(Too Many Requests)를 받으면 Retry-After 또는 지수 백오프 동안 모든 입장을 멈춤
+//한도를 넘는 요청은 실패하지 않고 줄을 서서 기다리며, 대기열이 꽉 차거나 최대 대기 시간을 넘길 때만 거절됨
+@Component
+public class OpenAiRateLimiter {
+
+	private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	private final int requestsPerMinute;
+	private final int tokensPerMinute;
+	private final int maxConcurrent;
+	private final int maxQueued;
+	private final long maxWaitNanos;
+	private final long backoffBaseMs;
+	private final long backoffMaxMs;
+
+	private final ReentrantLock lock = new ReentrantLock(true);
+	private final Condition changed = lock.newCondition();
+	// 사용자 -> 그 사용자의 대기 줄, rotation은 입장 차례를 도는 사용자 순서
+	private final Map<String, ArrayDeque<Object>> queues = new HashMap<>();
+	private final ArrayDeque<String> rotation = new ArrayDeque<>();
+	private int queued = 0;
+	private int inFlight = 0;
+
+	// 토큰 버킷 (1분 동안 한도만큼 서서히 다시 채워짐)
+	private double requestBudget;
+	private double tokenBudget;
+	private long lastRefillNanos = System.nanoTime();
+
+	// 429 백오프
+	private long backoffUntilNanos = 0;
+	private int consecutiveThrottles = 0;
+
+	private final Counter queueFullRejections;
+	private final Counter timeoutRejections;
+	private final Counter throttled;
+	private final Timer waitTimer;
+
+	@Autowired
+	public OpenAiRateLimiter(@Value("${ai.rate-limit.requests-per-minute:60}") int requestsPerMinute,
+			@Value("${ai.rate-limit.tokens-per-minute:150000}") int tokensPerMinute,
+			@Value("${ai.rate-limit.max-concurrent:8}") int maxConcurrent,
+			@Value("${ai.rate-limit.max-queued:200}") int maxQueued,
+			@Value("${ai.rate-limit.max-wait-ms:120000}") long maxWaitMs,
+			@Value("${ai.rate-limit.backoff-base-ms:2000}") long backoffBaseMs,
+			@Value("${ai.rate-limit.backoff-max-ms:60000}") long backoffMaxMs,
+			MeterRegistry meterRegistry) {
+		this.requestsPerMinute = requestsPerMinute;
+		this.tokensPerMinute = tokensPerMinute;
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = maxQueued;
+		this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+		this.backoffBaseMs = backoffBaseMs;
+		this.backoffMaxMs = backoffMaxMs;
+		this.requestBudget = requestsPerMinute;
+		this.tokenBudget = tokensPerMinute;
+
+		// /actuator/metrics/ai.ratelimit.queued 등으로 확인 가능
+		meterRegistry.gauge("ai.ratelimit.queued", this, l -> l.snapshot(() -> l.queued));
+		meterRegistry.gauge("ai.ratelimit.waiting.users", this, l -> l.snapshot(() -> l.rotation.size()));
+		meterRegistry.gauge("ai.ratelimit.in.flight", this, l -> l.snapshot(() -> l.inFlight));
+		this.queueFullRejections = Counter.builder("ai.ratelimit.rejected").tag("reason", "queue_full").register(meterRegistry);
+		this.timeoutRejections = Counter.builder("ai.ratelimit.rejected").tag("reason", "timeout").register(meterRegistry);
+		this.throttled = Counter.builder("ai.ratelimit.throttled").register(meterRegistry); // OpenAI가 429를 돌려준 횟수
+		this.waitTimer = Timer.builder("ai.ratelimit.wait").register(meterRegistry);      // 입장까지 기다린 시간
+	}
+
+	// 입장 허가 (호출이 끝나면 반드시 release)
+	public interface Permit extends AutoCloseable {
+		void release();
+
+		@Override
+		default void close() {
+			release();
+		}
+	}
+
+	// 차례가 오고 한도가 남을 때까지 기다렸다가 입장
+	public Permit acquire(String userKey, int estimatedTokens) {
+		// 한 번에 분당 한도보다 큰 요청은 한도만큼으로 계산 (영원히 못 들어가는 일이 없도록)
+		int cost = Math.max(1, Math.min(estimatedTokens, tokensPerMinute));
+		Object ticket = new Object();
+		long start = System.nanoTime();
+		long deadline = start + maxWaitNanos;
+
+		lock.lock();
+		try {
+			if (queued >= maxQueued) {
+				queueFullRejections.increment();
+				throw new RuntimeException("AI 요청 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+			}
+			enqueue(userKey, ticket);
+			try {
+				while (true) {
+					long now = System.nanoTime();
+					long waitNanos = deadline - now;
+					if (isTurn(userKey, ticket)) {
+						long admitIn = nanosUntilAdmissible(now, cost);
+						if (admitIn <= 0) {
+							requestBudget -= 1;
+							tokenBudget -= cost;
+							inFlight++;
+							dequeue(userKey);
+							changed.signalAll(); // 다음 사용자의 차례
+							waitTimer.record(now - start, TimeUnit.NANOSECONDS);
+							return this::release;
+						}
+						waitNanos = Math.min(waitNanos, admitIn);
+					}
+					if (deadline - now <= 0) {
+						remove(userKey, ticket);
+						changed.signalAll();
+						timeoutRejections.increment();
+						throw new RuntimeException("AI 요청이 많아 대기 시간을 초과했습니다. 잠시 후 다시 시도해주세요.");
+					}
+					changed.awaitNanos(waitNanos);
+				}
+			} catch (InterruptedException e) {
+				remove(userKey, ticket);
+				changed.signalAll();
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("AI 요청 대기 중 인터럽트되었습니다.");
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// OpenAI가 429를 돌려줌 -> Retry-After(없으면 지수 백오프) 동안 모든 입장을 멈춤
+	public void onThrottled(Long retryAfterMs) {
+		throttled.increment();
+		lock.lock();
+		try {
+			consecutiveThrottles++;
+			long backoffMs = retryAfterMs != null ? retryAfterMs
+					: Math.min(backoffMaxMs, backoffBaseMs << Math.min(consecutiveThrottles - 1, 20));
+			long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+			if (until - backoffUntilNanos > 0) backoffUntilNanos = until;
+			// 남은 한도도 비워서 백오프가 끝난 뒤 한꺼번에 몰리지 않게 함
+			requestBudget = Math.min(requestBudget, 0);
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 정상 응답 -> 백오프 단계 초기화
+	public void onSuccess() {
+		lock.lock();
+		try {
+			consecutiveThrottles = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void release() {
+		lock.lock();
+		try {
+			inFlight--;
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 지금 바로 들어갈 수 있으면 0, 아니면 기다려야 할 시간 (동시 호출 수 때문이면 release 신호를 기다림)
+	private long nanosUntilAdmissible(long now, int cost) {
+		refill(now);
+		long wait = 0;
+		if (backoffUntilNanos - now > 0) {
+			wait = backoffUntilNanos - now;
+		}
+		if (requestBudget < 1) {
+			wait = Math.max(wait, (long) ((1 - requestBudget) * MINUTE_NANOS / requestsPerMinute));
+		}
+		if (tokenBudget < cost) {
+			wait = Math.max(wait, (long) ((cost - tokenBudget) * MINUTE_NANOS / tokensPerMinute));
+		}
+		if (wait == 0 && inFlight >= maxConcurrent) {
+			wait = MINUTE_NANOS; // release()가 깨워줌
+		}
+		return wait;
+	}
+
+	private void refill(long now) {
+		long elapsed = now - lastRefillNanos;
+		if (elapsed <= 0) return;
+		requestBudget = Math.min(requestsPerMinute, requestBudget + (double) requestsPerMinute * elapsed / MINUTE_NANOS);
+		tokenBudget = Math.min(tokensPerMinute, tokenBudget + (double) tokensPerMinute * elapsed / MINUTE_NANOS);
+		lastRefillNanos = now;
+	}
+
+	// 차례: rotation 맨 앞 사용자의 줄에서 맨 앞 요청
+	private boolean isTurn(String userKey, Object ticket) {
+		if (!userKey.equals(rotation.peekFirst())) return false;
+		return queues.get(userKey).peekFirst() == ticket;
+	}
+
+	private void enqueue(String userKey, Object ticket) {
+		ArrayDeque<Object> queue = queues.computeIfAbsent(userKey, k -> new ArrayDeque<>());
+		if (queue.isEmpty()) rotation.addLast(userKey);
+		queue.addLast(ticket);
+		queued++;
+	}
+
+	// 입장한 요청을 줄에서 빼고, 그 사용자는 (남은 요청이 있으면) rotation 맨 뒤로 보냄
+	private void dequeue(String userKey) {
+		ArrayDeque<Object> queue = queues.get(userKey);
+		queue.pollFirst();
+		queued--;
+		rotation.pollFirst();
+		if (queue.isEmpty()) {
+			queues.remove(userKey);
+		} else {
+			rotation.addLast(userKey);
+		}
+	}
+
+	// 기다리다 포기한 요청을 줄에서 뺌
+	private void remove(String userKey, Object ticket) {
+		ArrayDeque<Object> queue = queues.get(userKey);
+		if (queue == null || !queue.remove(ticket)) return;
+		queued--;
+		if (queue.isEmpty()) {
+			queues.remove(userKey);
+			rotation.remove(userKey);
+		}
+	}
+
+	private double snapshot(IntSupplier value) {
+		lock.lock();
+		try {
+			return value.getAsInt();
+		} finally {
+			lock.unlock();
+		}
+	}
+}
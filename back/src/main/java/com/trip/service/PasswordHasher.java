@@ -0,0 +1,94 @@
+package com.trip.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+//비밀번호 해시(BCrypt)를 요청 스레드 대신 전용 풀(passwordHashExecutor)에서 실행
+//로그인이 몰려도 해시에 쓰는 CPU는 풀 크기만큼으로 제한되고, 나머지 API 요청 스레드는 계속 응답할 수 있음
+//풀과 대기열이 꽉 차거나 auth.hash.max-wait-ms 안에 끝나지 않으면 PasswordHashingBusyException(503)
+@Component
+public class PasswordHasher {
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolTaskExecutor passwordHashExecutor;
+	private final long maxWaitMs;
+	private final Timer encodeTimer;
+	private final Timer matchTimer;
+	private final Timer waitTimer;
+	private final Counter rejected;
+	private final Counter rehashed;
+
+	@Autowired
+	public PasswordHasher(PasswordEncoder passwordEncoder,
+			@Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+			@Value("${auth.hash.max-wait-ms:5000}") long maxWaitMs,
+			MeterRegistry meterRegistry) {
+		this.passwordEncoder = passwordEncoder;
+		this.passwordHashExecutor = passwordHashExecutor;
+		this.maxWaitMs = maxWaitMs;
+		// /actuator/metrics/auth.hash?tag=op:matches 로 확인 가능 (해시 계산 자체에 걸린 시간)
+		this.encodeTimer = Timer.builder("auth.hash").tag("op", "encode").register(meterRegistry);
+		this.matchTimer = Timer.builder("auth.hash").tag("op", "matches").register(meterRegistry);
+		this.waitTimer = Timer.builder("auth.hash.wait").register(meterRegistry); // 요청부터 결과까지 (대기열 포함)
+		this.rejected = Counter.builder("auth.hash.rejected").register(meterRegistry);
+		this.rehashed = Counter.builder("auth.hash.rehashed").register(meterRegistry);
+	}
+
+	public String encode(String rawPassword) {
+		return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+	}
+
+	public boolean matches(String rawPassword, String encodedPassword) {
+		return run(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+	}
+
+	// 저장된 해시의 cost가 지금 설정(auth.bcrypt.strength)과 다르면 true -> 로그인 성공 시 다시 해시
+	public boolean needsRehash(String encodedPassword) {
+		return passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+
+	public void recordRehash() {
+		rehashed.increment();
+	}
+
+	private <T> T run(Callable<T> task) {
+		long start = System.nanoTime();
+		Future<T> future;
+		try {
+			future = passwordHashExecutor.submit(task);
+		} catch (RejectedExecutionException e) { // TaskRejectedException 포함
+			rejected.increment();
+			throw new PasswordHashingBusyException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+		}
+		try {
+			return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			rejected.increment();
+			throw new PasswordHashingBusyException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PasswordHashingBusyException("비밀번호 확인 중 인터럽트되었습니다.");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) throw cause;
+			throw new RuntimeException("비밀번호 해시 실패", e.getCause());
+		} finally {
+			waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+}
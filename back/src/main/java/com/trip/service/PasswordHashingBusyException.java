@@ -0,0 +1,14 @@
+package com.trip.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+//비밀번호 해시 전용 풀과 대기열이 꽉 찼거나 너무 오래 기다린 경우 (로그인/회원가입을 바로 거절)
+//컨트롤러 밖으로 나가면 503으로 응답 -> 클라이언트는 잠시 후 다시 시도
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+
+	public PasswordHashingBusyException(String message) {
+		super(message);
+	}
+}
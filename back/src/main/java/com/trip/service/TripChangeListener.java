@@ -0,0 +1,119 @@
+package com.trip.service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.trip.entity.Day;
+import com.trip.entity.Schedule;
+import com.trip.entity.Trip;
+import com.trip.entity.TripNote;
+import com.trip.entity.TripTip;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+//여행 상세 페이지에 보이는 엔티티(Trip, Day, Schedule, TripNote, TripTip)가 저장/수정/삭제되면
+//해당 여행의 버전을 올리는 Hibernate 이벤트 리스너
+//flush 시점에 tripId를 모아 두고, 커밋 직전에 같은 트랜잭션 안에서 trips.detail_version을 한 번에 올림
+//(롤백되면 버전 변경도 함께 취소, 여러 서버가 같은 DB 값을 보므로 다른 서버의 캐시도 무효가 됨)
+//JPQL 벌크 UPDATE는 이벤트가 발생하지 않으므로 호출한 쪽에서 직접 TripRepository.incrementDetailVersions 해야 함
+@Component
+public class TripChangeListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	private static final String INCREMENT_VERSIONS =
+			"update Trip t set t.detailVersion = t.detailVersion + 1 where t.id in :tripIds";
+
+	private final EntityManagerFactory entityManagerFactory;
+	// 세션 -> 이번 트랜잭션에서 바뀐 여행들 (세션 하나는 한 스레드에서만 쓰임)
+	private final Map<EventSource, Set<UUID>> changedTrips = new ConcurrentHashMap<>();
+
+	@Autowired
+	public TripChangeListener(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	@PostConstruct
+	public void register() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, this);
+		registry.appendListeners(EventType.POST_UPDATE, this);
+		registry.appendListeners(EventType.POST_DELETE, this);
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		onChange(event, event.getEntity());
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		onChange(event, event.getEntity());
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		onChange(event, event.getEntity());
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+
+	private void onChange(AbstractEvent event, Object entity) {
+		UUID tripId = tripIdOf(entity);
+		if (tripId == null) return;
+		EventSource session = event.getSession();
+		changedTrips.computeIfAbsent(session, this::registerFlush).add(tripId);
+	}
+
+	// 트랜잭션마다 한 번: 커밋 직전에 모인 여행들의 버전을 UPDATE 한 번으로 올리고, 끝나면(롤백 포함) 정리
+	private Set<UUID> registerFlush(EventSource session) {
+		ActionQueue actions = session.getActionQueue();
+		actions.registerProcess((BeforeTransactionCompletionProcess) s -> {
+			Set<UUID> tripIds = changedTrips.remove(session);
+			if (tripIds == null || tripIds.isEmpty()) return;
+			s.createMutationQuery(INCREMENT_VERSIONS).setParameterList("tripIds", tripIds).executeUpdate();
+		});
+		actions.registerProcess((AfterTransactionCompletionProcess) (success, s) -> changedTrips.remove(session));
+		return new HashSet<>();
+	}
+
+	private UUID tripIdOf(Object entity) {
+		try {
+			if (entity instanceof Trip trip) return trip.getId();
+			if (entity instanceof Day day) return day.getTrip() != null ? day.getTrip().getId() : null;
+			if (entity instanceof Schedule schedule) {
+				Day day = schedule.getDay();
+				return day != null && day.getTrip() != null ? day.getTrip().getId() : null;
+			}
+			if (entity instanceof TripNote note) return note.getTrip() != null ? note.getTrip().getId() : null;
+			if (entity instanceof TripTip tip) return tip.getTrip() != null ? tip.getTrip().getId() : null;
+		} catch (RuntimeException e) {
+			System.err.println("여행 버전 갱신 대상 확인 실패: " + e.getMessage());
+		}
+		return null;
+	}
+}
@@ -0,0 +1,51 @@
+package com.trip.service;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.trip.util.ExpiringLruCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+//여행 상세 페이지 응답(JSON 바이트)을 (tripId, 버전) 단위로 보관하는 캐시
+//여행마다 최신 버전 하나만 보관 -> 버전이 바뀌면 다음 조회 때 새로 만들어서 덮어씀
+//메모리는 max-size(여행 수) x 응답 크기로 제한됨
+@Component
+public class TripDetailCache {
+
+	private record Entry(String version, byte[] body) {}
+
+	private final ExpiringLruCache<UUID, Entry> cache;
+	private final Counter hits;
+	private final Counter misses;
+
+	@Autowired
+	public TripDetailCache(@Value("${trip.detail-cache.max-size:2000}") int maxSize,
+			@Value("${trip.detail-cache.ttl-minutes:30}") long ttlMinutes,
+			MeterRegistry meterRegistry) {
+		this.cache = new ExpiringLruCache<>(maxSize, ttlMinutes * 60 * 1000);
+		// /actuator/metrics/trip.detail.cache.requests?tag=result:hit 로 확인 가능
+		this.hits = Counter.builder("trip.detail.cache.requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder("trip.detail.cache.requests").tag("result", "miss").register(meterRegistry);
+		meterRegistry.gauge("trip.detail.cache.size", cache, ExpiringLruCache::size);
+	}
+
+	// 같은 버전의 응답이 있으면 반환 (없거나 버전이 다르면 null)
+	public byte[] get(UUID tripId, String version) {
+		Entry entry = cache.get(tripId);
+		if (entry != null && entry.version().equals(version)) {
+			hits.increment();
+			return entry.body();
+		}
+		misses.increment();
+		return null;
+	}
+
+	public void put(UUID tripId, String version, byte[] body) {
+		cache.put(tripId, new Entry(version, body));
+	}
+}
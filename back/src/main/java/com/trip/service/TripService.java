@@ -1,22 +1,30 @@
 package com.trip.service;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.time.LocalDateTime;
 
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trip.dto.TripDto;
 import com.trip.entity.Day;
 import com.trip.entity.Schedule;
@@ -27,79 +35,148 @@ import com.trip.entity.TripParticipantId;
 import com.trip.entity.TripPreference;
 import com.trip.entity.User;
 import com.trip.repository.*;
+import com.trip.util.JdbcRoundTripCounter;
+import com.trip.util.TripCursor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 
 //날짜루프를 돌려서 Day 데이터 생성
 //AI옵션이 켜진 경우 -> tripPreference 저장
 @Service
 public class TripService {
 
+    private static final int MYSQL_NO_REFERENCED_ROW = 1452;
+
     private final ScheduleRepository scheduleRepository;
     private final TripRepository tripRepository;
-    private final TripPreferenceRepository preferenceRepository;
     private final DayRepository dayRepository;
     private final UserRepository userRepository;
     private final TripParticipantRepository tripParticipantRepository; // 인터페이스 타입으로 주입
-    private final AIService aiService;
-    // 외부 API와 통신하기 위한 HTTP 클라이언트. Spring이 자동으로 Bean을 주입해줍니다.
-    private final RestTemplate restTemplate;
-    
-    @Value("${weather.api.key}")
-    private String weatherApiKey;
+    private final TripPreferenceRepository tripPreferenceRepository; // AI 일정 생성을 다시 요청할 때 저장된 취향 조회
+    private final AiJobService aiJobService;
+    // 날씨 API 호출 담당 (기간 전체를 한 번에 조회)
+    private final WeatherService weatherService;
+    // 외부 API 호출이 끝난 뒤에 DB 작업만 트랜잭션으로 묶기 위해 사용
+    private final TransactionTemplate transactionTemplate;
+    // 상세 페이지 조회용 (노트/팁을 DTO에 필요한 값만 조회)
+    private final TripNoteRepository tripNoteRepository;
+    private final TripTipRepository tripTipRepository;
+    // 상세 페이지 응답 캐시 (여행 버전이 같으면 만들어 둔 JSON을 그대로 사용)
+    private final TripVersionRegistry tripVersionRegistry;
+    private final TripDetailCache tripDetailCache;
+    private final ObjectMapper objectMapper; // 컨트롤러 응답과 같은 설정으로 직렬화하기 위해 Spring의 ObjectMapper 사용
+    // 여행 생성 시 엔티티를 한 번에 persist -> flush 하기 위해 사용 (JDBC 배치로 테이블별 INSERT를 묶음)
+    private final EntityManager entityManager;
+    private final DistributionSummary createRoundTrips;
     
     @Autowired
     public TripService(TripRepository tripRepository,
-                       TripPreferenceRepository preferenceRepository,
                        DayRepository dayRepository,
                        UserRepository userRepository,
                        TripParticipantRepository tripParticipantRepository, // 수정된 레포지토리 주입
-                       AIService aiService,
-                       RestTemplate restTemplate, ScheduleRepository scheduleRepository) {
+                       TripPreferenceRepository tripPreferenceRepository,
+                       AiJobService aiJobService,
+                       WeatherService weatherService,
+                       TransactionTemplate transactionTemplate,
+                       ScheduleRepository scheduleRepository,
+                       TripNoteRepository tripNoteRepository,
+                       TripTipRepository tripTipRepository,
+                       TripVersionRegistry tripVersionRegistry,
+                       TripDetailCache tripDetailCache,
+                       ObjectMapper objectMapper,
+                       EntityManager entityManager,
+                       MeterRegistry meterRegistry) {
         this.tripRepository = tripRepository;
-        this.preferenceRepository = preferenceRepository;
         this.dayRepository = dayRepository;
         this.userRepository = userRepository;
         this.tripParticipantRepository = tripParticipantRepository; // 수정된 레포지토리 주입
-        this.aiService = aiService;
-        this.restTemplate = restTemplate;
-        this.scheduleRepository = scheduleRepository;}
+        this.tripPreferenceRepository = tripPreferenceRepository;
+        this.aiJobService = aiJobService;
+        this.weatherService = weatherService;
+        this.transactionTemplate = transactionTemplate;
+        this.scheduleRepository = scheduleRepository;
+        this.tripNoteRepository = tripNoteRepository;
+        this.tripTipRepository = tripTipRepository;
+        this.tripVersionRegistry = tripVersionRegistry;
+        this.tripDetailCache = tripDetailCache;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        // /actuator/metrics/trip.create.round-trips 로 확인 가능 (여행 생성 한 번에 DB로 보낸 요청 수)
+        this.createRoundTrips = DistributionSummary.builder("trip.create.round-trips").register(meterRegistry);}
     
-    // Visual Crossing API를 호출하여 특정 날짜의 날씨 정보를 가져와 Day 엔티티에 저장합니다.
-    //이 정보는 나중에 실시간 API 실패 시의 백업 데이터로 사용됩니다.
-    private void setDayWeatherFromApi(Day day, Double lat, Double lon, LocalDate date) {
-        try {
-            // 특정 날짜 한정 API URL 생성 (시작일과 종료일을 동일하게 설정)
-            String weatherApiUrl = String.format(
-                "https://weather.visualcrossing.com/VisualCrossingWebServices/rest/services/timeline/%s,%s/%s/%s?unitGroup=metric&include=days&key=%s&contentType=json",
-                lat, lon, date.toString(), date.toString(), weatherApiKey
-            );
-            
-            // API 호출
-            ResponseEntity<JsonNode> response = restTemplate.getForEntity(weatherApiUrl, JsonNode.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                JsonNode weatherData = response.getBody();
-                // days 배열의 첫 번째 요소가 해당 날짜의 날씨 정보입니다.
-                JsonNode dayWeather = weatherData.path("days").get(0); 
-                
-                if (dayWeather != null) {
-                    // Day 엔티티에 날씨 정보 저장 (DB 컬럼에 매핑)
-                    // Day 엔티티에 setWeatherForecast(String), setWeatherTemp(Double) 등의 setter가 있다고 가정합니다.
-                    day.setWeatherForecast(dayWeather.path("conditions").asText()); // 예: 'Partially cloudy'
-                    Double tempMaxDouble = dayWeather.path("tempmax").asDouble();;     // 예: 25.5
-                }
-            }
-        } catch (Exception e) {
-            // API 호출 중 오류가 나도 여행 생성이 실패하면 안 되므로 예외를 잡아 로그만 남깁니다.
-            System.err.println("Day (" + date + ") 날씨 API 호출 및 저장 실패: " + e.getMessage());
+    // 미리 받아온 날씨 정보를 Day 엔티티에 저장합니다.
+    //이후에는 WeatherRefreshScheduler가 주기적으로 갱신하고, 상세 페이지는 이 값을 읽습니다.
+    private void applyWeather(Day day, TripDto.WeatherInfo weather) {
+        if (weather == null) return;
+        day.setWeatherForecast(weather.getDesc()); // 예: 'Partially cloudy'
+        if (weather.getTempMax() != null) {
+            day.setWeatherTemp(BigDecimal.valueOf(weather.getTempMax())); // 예: 25.5
         }
+        day.setWeatherIcon(weather.getIcon());
+        day.setWeatherUpdatedAt(LocalDateTime.now());
     }
 	    
 	    //여행 생성 -> DB 저장 전체 로직
-	    @Transactional //하나라도 실패하면 전체 롤백
-	    public TripDto.TripResponse createTrip(TripDto.TripRequest request, String email){
-	    	//1.토큰 이메일로 현재 로그인한 유저 찾기
-	    	User user = userRepository.findByEmail(email)
-	    			.orElseThrow(()->new RuntimeException("사용자를 찾을 수 없습니다."));
+	    //날씨 API는 트랜잭션 밖에서 기간 전체를 한 번에 먼저 조회하고,
+	    //DB 커넥션은 저장하는 동안에만 잡도록 TransactionTemplate으로 나눔
+	    public TripDto.TripResponse createTrip(TripDto.TripRequest request, UUID userId, String email){
+	    	//0.날씨 미리 가져오기(여행 기간 전체를 한 번의 요청으로)
+	    	Map<LocalDate, TripDto.WeatherInfo> weatherByDate = weatherService.fetchDailyWeather(
+	    			request.getLatitude(), request.getLongitude(), request.getStartDate(), request.getEndDate());
+	    	
+	    	//하나라도 실패하면 전체 롤백
+	    	SavedTrip saved = transactionTemplate.execute(status -> saveTrip(request, userId, weatherByDate));
+	    	
+	    	//커밋이 끝난 뒤에 AI 일정 생성을 백그라운드 작업으로 등록 (OpenAI 응답을 기다리지 않고 바로 응답)
+	    	if (saved.preference() != null) {
+	    		aiJobService.submit(saved.trip(), saved.days(), saved.preference(), email);
+	    	}
+	    	return new TripDto.TripResponse(saved.trip());
+	    }
+	    
+	    //AI 일정 생성 다시 요청 (작업이 실패했거나 서버 재시작 등으로 작업이 사라진 경우)
+	    //DB에 저장된 취향과 Day를 다시 읽고, AI 일정이 이미 저장된 날짜는 빼고 등록
+	    //여행이 없거나 내 여행이 아니거나 AI를 쓰지 않은 여행이면 NoSuchElementException,
+	    //작업이 이미 대기/실행 중이거나 다시 만들 날짜가 없으면 IllegalStateException
+	    public AiJob retryAiJob(UUID tripId, UUID userId, String email) {
+	    	SavedTrip stored = transactionTemplate.execute(status -> {
+	    		Trip trip = tripRepository.findById(tripId)
+	    				.filter(t -> t.getCreator().getId().equals(userId))
+	    				.orElseThrow(() -> new NoSuchElementException("여행을 찾을 수 없습니다: " + tripId));
+	    		TripPreference pref = tripPreferenceRepository.findByTrip_Id(tripId)
+	    				.orElseThrow(() -> new NoSuchElementException("AI 일정을 사용하지 않은 여행입니다: " + tripId));
+	    		Set<UUID> generatedDayIds = new HashSet<>(scheduleRepository.findAiGeneratedDayIds(tripId));
+	    		List<Day> days = dayRepository.findByTrip_IdOrderByDayNumber(tripId).stream()
+	    				.filter(day -> !generatedDayIds.contains(day.getId()))
+	    				.collect(Collectors.toList());
+	    		return new SavedTrip(trip, days, pref);
+	    	});
+	    	if (stored.days().isEmpty()) {
+	    		throw new IllegalStateException("모든 날짜에 AI 일정이 이미 저장되어 있습니다.");
+	    	}
+	    	AiJob job = aiJobService.resubmit(stored.trip(), stored.days(), stored.preference(), email);
+	    	if (job == null) {
+	    		throw new IllegalStateException("AI 일정 생성 작업이 이미 진행 중입니다.");
+	    	}
+	    	return job;
+	    }
+	    
+	    //트랜잭션 안에서 저장한 결과 (AI 작업 등록에 필요)
+	    private record SavedTrip(Trip trip, List<Day> days, TripPreference preference) {}
+	    
+	    //여행 생성 중 DB 저장 부분 (트랜잭션 안에서 실행됨)
+	    //엔티티를 모두 만들어 persist만 해 두고 마지막에 한 번 flush
+	    //-> hibernate.jdbc.batch_size/order_inserts 설정으로 trips, trip_participants, days, schedules, trip_preferences
+	    //   테이블별로 INSERT가 한 번의 배치로 묶임 (10일 여행도 행 수와 상관없이 배치 5번)
+	    private SavedTrip saveTrip(TripDto.TripRequest request, UUID userId, Map<LocalDate, TripDto.WeatherInfo> weatherByDate){
+	    	JdbcRoundTripCounter roundTrips = new JdbcRoundTripCounter();
+	    	entityManager.unwrap(Session.class).addEventListeners(roundTrips);
+	    	
+	    	//1.토큰에 들어 있는 사용자 id로 참조만 만듦 (users 조회 없음, FK 값으로만 사용, 없는 사용자는 flushTrip에서 처리)
+	    	User user = userRepository.getReferenceById(userId);
 	    	
 			// [수정] 시간 데이터 결합 로직
 			// request.getFlightOutDept()가 LocalTime이므로 startDate와 합쳐 LocalDateTime을 만듭니다.
@@ -134,7 +211,8 @@ public class TripService {
 					.flightInDept(flightInDept)
 					.flightInArr(flightInArr)
 					.build();
-	    	Trip savedTrip = tripRepository.save(trip); //먼저 저장해야 trip id가 생성됨
+	    	entityManager.persist(trip); //id(시간순 UUID)는 persist할 때 정해지고 INSERT는 flush 때 나감
+	    	Trip savedTrip = trip;
 	    	
 	    	//트립 저장 후, 여행을 생성한 user를 첫번째 참여자로 테이블에 넣기
 	    	TripParticipant participant = new TripParticipant();
@@ -143,7 +221,7 @@ public class TripService {
 	    	participant.setUser(user);
 	    	participant.setRole("ADMIN"); // 생성자는 관리자(ADMIN) 역할을 부여
 
-	    	tripParticipantRepository.save(participant); // 참여자 정보 저장
+	    	entityManager.persist(participant); // 참여자 정보 저장 (복합키를 직접 넣었으므로 save()를 쓰면 merge용 SELECT가 먼저 나감)
 	    	
 	    	//3.날짜 차이만큼 반복문 돌려서 Day 데이터 생성(Days 테이블)
 	    	List<Day> savedDays = new ArrayList<>();
@@ -151,11 +229,6 @@ public class TripService {
 	    	LocalDate end = request.getEndDate();
 	    	int dayCount = 1;
 	    	
-	    	// Day 생성 시 날씨 저장을 위해 DTO의 좌표를 Double로 변환
-	    	Double latDouble = request.getLatitude() != null ? request.getLatitude().doubleValue() : null;
-	    	Double lonDouble = request.getLongitude() != null ? request.getLongitude().doubleValue() : null;
-	    	boolean hasCoordinates = latDouble != null && lonDouble != null;
-	    	
 	    	//시작일부터 종료일까지 데이터 생성 후, 한번에 저장
 	    	while(!current.isAfter(end)) {
 	    		Day day = Day.builder()
@@ -165,14 +238,12 @@ public class TripService {
 	    				.dayTheme("")
 	    				.build();
 	    		
-	    		// Day 엔티티 생성 시점에 날씨 정보 API 호출 후 DB에 백업
-	    		if (hasCoordinates) {
-	    			setDayWeatherFromApi(day, latDouble, lonDouble, current);
-	    		}
+	    		// 미리 받아온 날씨 정보를 DB에 백업
+	    		applyWeather(day, weatherByDate.get(current));
 	    		savedDays.add(day);
 	    		current = current.plusDays(1);
 	    	}
-	    	dayRepository.saveAll(savedDays); // 날씨 정보가 포함된 Day 엔티티를 모두 저장
+	    	savedDays.forEach(entityManager::persist); // 날씨 정보가 포함된 Day 엔티티를 모두 저장
 	    
 	    	//변경부분입니다.
 	        // 사용자 입력 항공편을 Schedule로 먼저 저장
@@ -211,9 +282,7 @@ public class TripService {
 	        }
 
 	        // ScheduleRepository를 통해 먼저 저장 (TripService에 주입 필요)
-	        if (!userSchedules.isEmpty()) {
-	            scheduleRepository.saveAll(userSchedules);
-	        }
+	        userSchedules.forEach(entityManager::persist);
 	        
 	    	//4.AI 사용시에만, 사용자 취향 데이터 저장(Trip_preferences 테이블)
 	    	if (Boolean.TRUE.equals(request.getUseAI())) {
@@ -226,62 +295,173 @@ public class TripService {
 	                    .interests(request.getInterests()) 
 	                    .build();
 	            
-	            preferenceRepository.save(savedPref);
+	            entityManager.persist(savedPref);
 	            
-	            aiService.createAiSchedule(savedTrip, savedDays, savedPref);//AI 서비스 호출
+	            //AI 서비스 호출은 커밋 후 createTrip에서 백그라운드 작업으로 등록
+	            return flushTrip(roundTrips, new SavedTrip(savedTrip, savedDays, savedPref));
 	    	}
-	    	return new TripDto.TripResponse(savedTrip);
+	    	return flushTrip(roundTrips, new SavedTrip(savedTrip, savedDays, null));
 	    }
 	    
-	    //여행 목록을 조회하는 로직
-	    public List<Trip> findTripsByUser(User user) {
-	        // 이전에 만들어둔 Repository 메소드를 호출합니다.
-	        return tripRepository.findAllByCreator(user);
+	    //모아 둔 INSERT를 한 번에 보내고, 이번 여행 생성에서 DB로 보낸 요청 수를 기록 (trip.create.round-trips)
+	    //사용자는 참조만 만들었으므로 탈퇴한 사용자면 여기서 users FK 오류가 남 -> 예전처럼 '사용자를 찾을 수 없음'으로 바꿈
+	    //(나머지 FK는 모두 같은 flush에서 INSERT하는 행을 가리키므로 참조 오류는 users FK뿐)
+	    private SavedTrip flushTrip(JdbcRoundTripCounter roundTrips, SavedTrip saved) {
+	    	try {
+	    		entityManager.flush();
+	    	} catch (PersistenceException e) {
+	    		if (isMissingReference(e)) {
+	    			throw new NoSuchElementException("사용자를 찾을 수 없습니다.");
+	    		}
+	    		throw e;
+	    	}
+	    	createRoundTrips.record(roundTrips.getRoundTrips());
+	    	return saved;
 	    }
 	    
+	    //MySQL 1452: 참조하는 행이 없어서 FK 제약 위반 (Hibernate가 감싼 원인까지 확인)
+	    private static boolean isMissingReference(Throwable e) {
+	    	for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+	    		if (cause instanceof SQLException sql && sql.getErrorCode() == MYSQL_NO_REFERENCED_ROW) {
+	    			return true;
+	    		}
+	    	}
+	    	return false;
+	    }
+	    
+	    //내 여행 목록 한 페이지 (시작일 최신순, 시작일이 없는 여행은 맨 뒤에 id순, 카드에 필요한 값만 조회)
+	    //cursor가 없으면 첫 페이지, 있으면 그 다음부터 size개
+	    @Transactional(readOnly = true)
+	    public TripDto.TripPage<TripDto.TripResponse> findTripPageByUser(UUID userId, String cursor, int size) {
+	        // size+1개를 조회해서 다음 페이지가 있는지 확인
+	        PageRequest limit = PageRequest.of(0, size + 1);
+	        TripCursor after = (cursor == null || cursor.isBlank()) ? null : TripCursor.decode(cursor);
+	        List<TripRepository.TripCardView> cards = new ArrayList<>();
+	        // 커서의 시작일이 없으면 이미 시작일 없는 구간을 읽는 중
+	        if (after == null) {
+	            cards.addAll(tripRepository.findDatedCardsByCreator(userId, limit));
+	        } else if (after.startDate() != null) {
+	            cards.addAll(tripRepository.findDatedCardsByCreatorAfter(userId, after.startDate(), after.id(), limit));
+	        }
+	        // 시작일이 있는 여행을 다 읽었으면 남은 자리를 시작일 없는 여행으로 채움
+	        if (cards.size() <= size) {
+	            PageRequest rest = PageRequest.of(0, size + 1 - cards.size());
+	            cards.addAll(after != null && after.startDate() == null
+	                    ? tripRepository.findUndatedCardsByCreatorAfter(userId, after.id(), rest)
+	                    : tripRepository.findUndatedCardsByCreator(userId, rest));
+	        }
+
+	        boolean hasNext = cards.size() > size;
+	        if (hasNext) cards = cards.subList(0, size);
+	        String nextCursor = null;
+	        if (hasNext) {
+	            TripRepository.TripCardView last = cards.get(cards.size() - 1);
+	            nextCursor = new TripCursor(last.getStartDate(), last.getId()).encode();
+	        }
+	        List<TripDto.TripResponse> trips = cards.stream().map(this::toTripResponse).collect(Collectors.toList());
+	        return new TripDto.TripPage<>(trips, nextCursor);
+	    }
+
+	    //내가 참여한 여행 목록 한 페이지 (만든 여행 + 초대받은 여행, role로 거르기 가능, 순서는 /my와 같음)
+	    //trip_participants에서 내 행만 읽고 trips는 PK로 찾아가므로 trips 테이블 전체를 훑지 않음
+	    @Transactional(readOnly = true)
+	    public TripDto.TripPage<TripDto.ParticipatingTripResponse> findParticipatingTrips(UUID userId, String role,
+	            String cursor, int size) {
+	        String roleFilter = (role == null || role.isBlank()) ? null : role.trim().toUpperCase();
+	        PageRequest limit = PageRequest.of(0, size + 1); // 다음 페이지가 있는지 확인용으로 1개 더
+	        TripCursor after = (cursor == null || cursor.isBlank()) ? null : TripCursor.decode(cursor);
+	        List<TripParticipantRepository.ParticipatingTripView> rows = new ArrayList<>();
+	        // 커서의 시작일이 없으면 이미 시작일 없는 구간을 읽는 중 (/my와 같은 방식)
+	        if (after == null) {
+	            rows.addAll(tripParticipantRepository.findDatedParticipatingTrips(userId, roleFilter, limit));
+	        } else if (after.startDate() != null) {
+	            rows.addAll(tripParticipantRepository.findDatedParticipatingTripsAfter(userId, roleFilter,
+	                    after.startDate(), after.id(), limit));
+	        }
+	        if (rows.size() <= size) {
+	            PageRequest rest = PageRequest.of(0, size + 1 - rows.size());
+	            rows.addAll(after != null && after.startDate() == null
+	                    ? tripParticipantRepository.findUndatedParticipatingTripsAfter(userId, roleFilter, after.id(), rest)
+	                    : tripParticipantRepository.findUndatedParticipatingTrips(userId, roleFilter, rest));
+	        }
+
+	        boolean hasNext = rows.size() > size;
+	        if (hasNext) rows = rows.subList(0, size);
+	        String nextCursor = null;
+	        if (hasNext) {
+	            TripParticipantRepository.ParticipatingTripView last = rows.get(rows.size() - 1);
+	            nextCursor = new TripCursor(last.getStartDate(), last.getId()).encode();
+	        }
+
+	        List<TripDto.ParticipatingTripResponse> trips = rows.stream().map(row -> {
+	            TripDto.ParticipatingTripResponse dto = new TripDto.ParticipatingTripResponse();
+	            dto.setId(row.getId().toString());
+	            dto.setTitle(row.getTitle());
+	            dto.setStartDate(row.getStartDate());
+	            dto.setEndDate(row.getEndDate());
+	            dto.setCountry(row.getCountry());
+	            dto.setCity(row.getCity());
+	            dto.setStatus(row.getStatus());
+	            dto.setRole(row.getRole());
+	            return dto;
+	        }).collect(Collectors.toList());
+	        return new TripDto.TripPage<>(trips, nextCursor);
+	    }
+
+	    private TripDto.TripResponse toTripResponse(TripRepository.TripCardView card) {
+	        TripDto.TripResponse dto = new TripDto.TripResponse();
+	        dto.setId(card.getId().toString());
+	        dto.setTitle(card.getTitle());
+	        dto.setStartDate(card.getStartDate());
+	        dto.setEndDate(card.getEndDate());
+	        dto.setCountry(card.getCountry());
+	        dto.setCity(card.getCity());
+	        dto.setStatus(card.getStatus());
+	        return dto;
+	    }
+	    
+	    //여행의 현재 버전 (상세 페이지 ETag로 사용)
+	    public String getTripVersion(UUID tripId) {
+	        return tripVersionRegistry.currentVersion(tripId);
+	    }
+
+	    //상세 페이지 응답 JSON (같은 버전이면 캐시된 바이트를 그대로 반환, 아니면 새로 만들어 캐시)
+	    //getTripDetail을 같은 클래스 안에서 부르면 프록시를 거치지 않아 그쪽 @Transactional이 적용되지 않으므로 여기에 붙임
+	    //-> 5번의 조회가 한 트랜잭션(같은 스냅샷)에서 실행되어 한 버전으로 캐시해도 서로 어긋나지 않음
+	    @Transactional(readOnly = true)
+	    public byte[] getTripDetailJson(UUID tripId, String version) {
+	        byte[] body = tripDetailCache.get(tripId, version);
+	        if (body != null) return body;
+	        try {
+	            body = objectMapper.writeValueAsBytes(getTripDetail(tripId));
+	        } catch (JsonProcessingException e) {
+	            throw new RuntimeException("여행 상세 정보 변환 실패: " + e.getMessage());
+	        }
+	        tripDetailCache.put(tripId, version, body);
+	        return body;
+	    }
+
 	    //여행 상세페이지를 조회하는 로직 -> TripDetailResponse DTO 형태로 가공하여 반환
 	    @Transactional(readOnly = true) //순수 조회 작업이므로, readOnly=true 옵션으로 DB 성능을 최적화
 	    public TripDto.TripDetailResponse getTripDetail(UUID tripId) {
 	        
-	    	//@EntityGraph 이용해서 N+1 문제 해결했음(tripRepository) 참조
-	    	//이 코드에서 DB안의 Trip, Days, Schedules 테이블을 모두 가져왔음
-	        Trip trip = tripRepository.findById(tripId)
+	    	//엔티티 그래프로 한 번에 fetch join 하면 (일정 수 x 노트 수 x 팁 수 x 참여자 수)만큼 행이 불어나므로
+	    	//필요한 값만 담은 projection을 테이블마다 한 번씩(총 5번) 조회한 뒤 메모리에서 조립
+	        TripRepository.TripHeaderView trip = tripRepository.findHeaderById(tripId)
 	                .orElseThrow(() -> new RuntimeException("ID에 해당하는 여행을 찾을 수 없습니다: " + tripId));
+	        List<DayRepository.DayView> days = dayRepository.findDayViewsByTripId(tripId);
+	        // dayId -> 그날의 일정 (쿼리에서 이미 displayOrder순 -> time순으로 정렬됨)
+	        Map<UUID, List<TripDto.ScheduleDto>> plansByDay = scheduleRepository.findViewsByTripId(tripId).stream()
+	                .collect(Collectors.groupingBy(ScheduleRepository.ScheduleView::getDayId,
+	                        Collectors.mapping(this::toScheduleDto, Collectors.toList())));
 
 	        //프론트엔드로 보낼 DTO들을 가공
 	        
 	        //1.Header 정보 만들기
-	        TripDto.TripHeaderInfo headerInfo = new TripDto.TripHeaderInfo();
-	        headerInfo.setTitle(trip.getTitle());
-	        headerInfo.setCity(trip.getCity());
-	        headerInfo.setTheme(trip.getTheme());
-	        // 날짜 포맷팅
-	        //LocalDate 객체("2025-12-11")를 -> "2025.12.11" 형식의 문자열로 변환
-	        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
-	        String formattedDates = trip.getStartDate().format(formatter) + " - " + trip.getEndDate().format(formatter);
-	        headerInfo.setDates(formattedDates);
+	        TripDto.TripHeaderInfo headerInfo = toHeaderInfo(trip);
 	        
-	        //2. 외부 날씨 정보 가져오기(실시간 API) -> 나중에 프론트로 이동시키기
-	        JsonNode weatherData = null; // 날씨 API 응답 전체를 담을 변수
-	        if (trip.getLatitude() != null && trip.getLongitude() != null) {
-	            try {
-	                // Visual Crossing API URL 생성
-	                String weatherApiUrl = String.format(
-	                    "https://weather.visualcrossing.com/VisualCrossingWebServices/rest/services/timeline/%s,%s/%s/%s?unitGroup=metric&include=days&key=%s&contentType=json",
-	                    trip.getLatitude(), trip.getLongitude(), trip.getStartDate(), trip.getEndDate(), weatherApiKey
-	                );
-	                
-	                // RestTemplate을 사용하여 외부 API에 GET 요청을 보내고, 응답을 JsonNode(JSON 트리) 형태로 받습니다.
-	                ResponseEntity<JsonNode> response = restTemplate.getForEntity(weatherApiUrl, JsonNode.class);
-	                
-	                if (response.getStatusCode().is2xxSuccessful()) {
-	                    weatherData = response.getBody();
-	                }
-	            } catch (Exception e) {
-	            	// 실시간 API 호출 실패. weatherData = null 상태를 유지하여 Fallback 로직으로 연결
-	                System.err.println("실시간 날씨 API 호출 실패: DB 백업 데이터 사용을 시도합니다. " + e.getMessage());
-	            }
-	        }
+	        //2. 날씨는 외부 API를 호출하지 않고 DB(Day)에 저장된 값만 사용
+	        //   -> WeatherRefreshScheduler가 백그라운드에서 주기적으로 갱신함
 	        
 	        //3.날짜별 스케줄 리스트 만들기
 	        List<TripDto.DailyScheduleData> scheduleDataList = new ArrayList<>();
@@ -290,83 +470,25 @@ public class TripService {
 	        // 시작일 12/11, 종료일 12/12 -> dateList: [2025-12-11, 2025-12-12]
 	        List<LocalDate> dateList = trip.getStartDate().datesUntil(trip.getEndDate().plusDays(1))
 	                .collect(Collectors.toList());
+	        // 날짜 -> Day (같은 날짜가 여러 개면 첫 번째)
+	        Map<LocalDate, DayRepository.DayView> dayByDate = days.stream()
+	                .filter(day -> day.getDate() != null)
+	                .collect(Collectors.toMap(DayRepository.DayView::getDate, day -> day, (first, second) -> first));
 
 	        int dayCount = 1;
 	        //생성된 날짜 리스트를 순회하면서 각 날짜에 해당하는 DailyScheduleData DTO 생성
 	        //왜? 날짜별로 다른 정보를 담고 있기 때문
 	        for (LocalDate currentDate : dateList) {
-	            Day matchingDay = trip.getDays().stream() //SELECT * FROM days WHERE trip_id = ? 이 여기서 실행되지 XX -> 앞에서 이미 다 가져왔음
-	                    								  //trip.getDays()로 Days 엔티티를 가져옴(DB에서 가져오는거 아님)
-	            		.filter(day -> day.getDate() != null && day.getDate().equals(currentDate)) //days 테이블에서 현재의 currentDate와 같은 값을 가져옴
-	                    .findFirst()
-	                    .orElse(null); //일치하는 날짜가 없으면 null (이 날짜에는 DB에 일정이 없음)
-
-	            TripDto.DailyScheduleData dailyData = new TripDto.DailyScheduleData();
-	            dailyData.setDay(dayCount++); // 1일차, 2일차 순서 부여
-	            dailyData.setDate(currentDate.toString()); // 'YYYY-MM-DD' 형식의 문자열 날짜 설정
-	            
-	            TripDto.WeatherInfo weatherInfo = new TripDto.WeatherInfo();
-	            boolean weatherDataFound = false;
-	            
-	            //4.날씨 데이터 가공 및 설정 (실시간 API 우선)
-	            if (weatherData != null) {
-	                //전체 날씨 데이터('days' 배열)를 순회하면서
-	                for (JsonNode dayWeather : weatherData.path("days")) {
-	                	//현재 날짜와 일치하는 날씨 정보를 찾기
-	                    if (dayWeather.path("datetime").asText().equals(currentDate.toString())) {
-	                    	//실시간 API 응답에서 추출된 값을 각 DTO에 저장
-	                    	weatherInfo.setIcon(dayWeather.path("icon").asText());
-	                        weatherInfo.setDesc(dayWeather.path("conditions").asText());
-	                        weatherInfo.setTempMax(dayWeather.path("tempmax").asDouble());      
-	                        weatherDataFound = true;
-	                        break; // 해당 날짜의 날씨를 찾았으므로 루프 중단
-	                    }
-	                }
-	            }
-	            //실시간 API 실패 시 DB 백업 데이터 사용
-	            if (!weatherDataFound && matchingDay != null && matchingDay.getWeatherForecast() != null) {
-	                // DB에 저장된 백업 데이터로 DTO 채우기
-	                weatherInfo.setDesc(matchingDay.getWeatherForecast());
-	                if (matchingDay.getWeatherTemp() != null) {
-	                    weatherInfo.setTempMax(matchingDay.getWeatherTemp().doubleValue());
-	                }
-	                // Icon 필드는 Day 엔티티에 없으므로 DTO에 설정하지 않음 (null 유지)
-	                weatherDataFound = true;
-	            }
-	            
-	            // 날씨 정보가 찾아졌다면 (API 또는 DB에서) DTO에 설정
-	            if (weatherDataFound) {
-	                dailyData.setWeather(weatherInfo);
-	            }
-	            
-	            // 5. DB 일정 정보(Day, Schedule)를 DTO로 변환
-	            //위에서 day, date,weather 저장 완료  
-	            if (matchingDay != null) {
-	                dailyData.setDayId(matchingDay.getId().toString()); //dayId 저장
-	                List<TripDto.ScheduleDto> plans = matchingDay.getSchedules().stream() //SELECT * FROM schedules WHERE day_id = ? 이 여기서 실행되지 XX -> 앞에서 이미 다 가져왔음
-							  															  //matchingDay.getSchedules()로 schedules 엔티티를 가져옴(DB에서 가져오는거 아님)
-	                		.sorted(Comparator.comparing(Schedule::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())) //displayOrder 기준으로 정렬
-	                        .thenComparing(Schedule::getTime, Comparator.nullsLast(Comparator.naturalOrder())))//displayOrder가 같다면(혹은 null이면) time 기준으로 2차 정렬
-	                		.map(TripDto.ScheduleDto::new) //각 Schedule 엔티티를 프론트엔드용 Schedule DTO 객체로 변환
-	                        .collect(Collectors.toList());
-	                dailyData.setPlans(plans); //하루의 모든 스케줄(plans)을 저장
-	            } else {
-	            	//.orElse(null)에 걸린 경우 = currentDate에 해당하는 Day 엔티티(DB 일정)가 없는 경우
-	                // 빈 리스트를 설정해 프론트에서 처리할 수 있도록 함
-	                dailyData.setPlans(new ArrayList<>());
-	            }
-	         // 최종적으로 완성된 하루치 데이터(날짜, 날씨, 일정)를 전체 리스트에 추가
-	            scheduleDataList.add(dailyData);
+	            // 최종적으로 완성된 하루치 데이터(날짜, 날씨, 일정)를 전체 리스트에 추가
+	            scheduleDataList.add(toDailyData(currentDate, dayCount++, dayByDate.get(currentDate), plansByDay, true));
 	        }
 	        
-	        // 여행에 속한 TripNote 엔티티 목록을 -> NoteDto 목록으로 변환
-	        List<TripDto.NoteDto> noteDtos = trip.getTripNotes().stream()
-	                .map(TripDto.NoteDto::new) // NoteDto의 변환 생성자 사용
+	        // 여행 노트/팁 -> DTO 목록 (작성자 이름은 쿼리에서 join으로 가져옴)
+	        List<TripDto.NoteDto> noteDtos = tripNoteRepository.findViewsByTripId(tripId).stream()
+	                .map(this::toNoteDto)
 	                .collect(Collectors.toList());
-
-	        // 여행에 속한 TripTip 엔티티 목록을 -> TipDto 목록으로 변환
-	        List<TripDto.TipDto> tipDtos = trip.getTripTips().stream()
-	                .map(TripDto.TipDto::new) // TipDto의 변환 생성자 사용
+	        List<TripDto.TipDto> tipDtos = tripTipRepository.findViewsByTripId(tripId).stream()
+	                .map(this::toTipDto)
 	                .collect(Collectors.toList());
 
 	        //TripDetailResponse DTO에 담아서 전달
@@ -379,4 +501,122 @@ public class TripService {
 	        
 	        return finalResponse;
 	    }
-	}
\ No newline at end of file
+
+	    //여행 기간 중 일부 날짜(from ~ to)만 조회 (상세 페이지에서 탭 하나만 볼 때)
+	    //days(trip_id, date) 인덱스로 해당 날짜의 Day만 찾고, 그 Day들의 일정만 조회
+	    //날씨와 헤더는 요청했을 때만 포함
+	    @Transactional(readOnly = true)
+	    public TripDto.DayWindowResponse getTripDays(UUID tripId, LocalDate from, LocalDate to,
+	            boolean includeWeather, boolean includeHeader) {
+	        TripRepository.TripHeaderView trip = tripRepository.findHeaderById(tripId)
+	                .orElseThrow(() -> new RuntimeException("ID에 해당하는 여행을 찾을 수 없습니다: " + tripId));
+
+	        // 요청 범위를 여행 기간 안으로 맞춤 (to가 없으면 from 하루만)
+	        if (to == null) to = from;
+	        if (to.isBefore(from)) {
+	            throw new IllegalArgumentException("from은 to보다 늦을 수 없습니다.");
+	        }
+	        LocalDate windowFrom = from.isBefore(trip.getStartDate()) ? trip.getStartDate() : from;
+	        LocalDate windowTo = to.isAfter(trip.getEndDate()) ? trip.getEndDate() : to;
+
+	        TripDto.DayWindowResponse response = new TripDto.DayWindowResponse();
+	        response.setTripId(trip.getId().toString());
+	        if (includeHeader) {
+	            response.setTripHeaderInfo(toHeaderInfo(trip));
+	        }
+	        List<TripDto.DailyScheduleData> scheduleDataList = new ArrayList<>();
+	        response.setScheduleData(scheduleDataList);
+	        if (windowTo.isBefore(windowFrom)) {
+	            return response; // 여행 기간과 겹치지 않음
+	        }
+
+	        Map<LocalDate, DayRepository.DayView> dayByDate = dayRepository.findDayViewsInRange(tripId, windowFrom, windowTo).stream()
+	                .collect(Collectors.toMap(DayRepository.DayView::getDate, day -> day, (first, second) -> first));
+	        Map<UUID, List<TripDto.ScheduleDto>> plansByDay = dayByDate.isEmpty() ? Map.of()
+	                : scheduleRepository.findViewsInRange(tripId, windowFrom, windowTo).stream()
+	                        .collect(Collectors.groupingBy(ScheduleRepository.ScheduleView::getDayId,
+	                                Collectors.mapping(this::toScheduleDto, Collectors.toList())));
+
+	        // N일차는 전체 상세 조회와 같게 여행 시작일 기준으로 계산
+	        int dayNumber = (int) ChronoUnit.DAYS.between(trip.getStartDate(), windowFrom) + 1;
+	        for (LocalDate date = windowFrom; !date.isAfter(windowTo); date = date.plusDays(1)) {
+	            scheduleDataList.add(toDailyData(date, dayNumber++, dayByDate.get(date), plansByDay, includeWeather));
+	        }
+	        return response;
+	    }
+
+	    private TripDto.TripHeaderInfo toHeaderInfo(TripRepository.TripHeaderView trip) {
+	        TripDto.TripHeaderInfo headerInfo = new TripDto.TripHeaderInfo();
+	        headerInfo.setTitle(trip.getTitle());
+	        headerInfo.setCity(trip.getCity());
+	        headerInfo.setTheme(trip.getTheme());
+	        // 날짜 포맷팅
+	        //LocalDate 객체("2025-12-11")를 -> "2025.12.11" 형식의 문자열로 변환
+	        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+	        String formattedDates = trip.getStartDate().format(formatter) + " - " + trip.getEndDate().format(formatter);
+	        headerInfo.setDates(formattedDates);
+	        return headerInfo;
+	    }
+
+	    //하루치 데이터(날짜, 날씨, 일정) 만들기 (matchingDay가 null이면 DB에 Day가 없는 날짜)
+	    private TripDto.DailyScheduleData toDailyData(LocalDate date, int dayNumber, DayRepository.DayView matchingDay,
+	            Map<UUID, List<TripDto.ScheduleDto>> plansByDay, boolean includeWeather) {
+	        TripDto.DailyScheduleData dailyData = new TripDto.DailyScheduleData();
+	        dailyData.setDay(dayNumber); // 1일차, 2일차 순서 부여
+	        dailyData.setDate(date.toString()); // 'YYYY-MM-DD' 형식의 문자열 날짜 설정
+	        
+	        //날씨 데이터 설정 (DB에 저장된 값)
+	        if (includeWeather && matchingDay != null && matchingDay.getWeatherForecast() != null) {
+	            TripDto.WeatherInfo weatherInfo = new TripDto.WeatherInfo();
+	            weatherInfo.setIcon(matchingDay.getWeatherIcon());
+	            weatherInfo.setDesc(matchingDay.getWeatherForecast());
+	            if (matchingDay.getWeatherTemp() != null) {
+	                weatherInfo.setTempMax(matchingDay.getWeatherTemp().doubleValue());
+	            }
+	            dailyData.setWeather(weatherInfo);
+	        }
+	        
+	        // 그날의 일정 목록 (Day가 없거나 일정이 없으면 빈 리스트 -> 프론트에서 처리)
+	        if (matchingDay != null) {
+	            dailyData.setDayId(matchingDay.getId().toString()); //dayId 저장
+	            dailyData.setPlans(plansByDay.getOrDefault(matchingDay.getId(), new ArrayList<>()));
+	        } else {
+	            dailyData.setPlans(new ArrayList<>());
+	        }
+	        return dailyData;
+	    }
+
+	    private TripDto.ScheduleDto toScheduleDto(ScheduleRepository.ScheduleView view) {
+	        TripDto.ScheduleDto dto = new TripDto.ScheduleDto();
+	        dto.setId(view.getId().toString());
+	        dto.setTime(view.getTime());
+	        dto.setTimeEnd(view.getTimeEnd());
+	        dto.setActivity(view.getActivity());
+	        dto.setDescription(view.getDescription());
+	        dto.setIcon(view.getIcon());
+	        dto.setTips(view.getTips());
+	        dto.setLat(view.getLat());
+	        dto.setLng(view.getLng());
+	        dto.setStatus(view.getStatus() != null ? view.getStatus().name() : null);
+	        return dto;
+	    }
+
+	    private TripDto.NoteDto toNoteDto(TripNoteRepository.NoteView view) {
+	        TripDto.NoteDto dto = new TripDto.NoteDto();
+	        dto.setId(view.getId().toString());
+	        dto.setTitle(view.getTitle());
+	        dto.setContent(view.getContent());
+	        dto.setAuthorName(view.getAuthorName() != null ? view.getAuthorName() : "알 수 없음");
+	        dto.setUpdatedAt(view.getUpdatedAt());
+	        return dto;
+	    }
+
+	    private TripDto.TipDto toTipDto(TripTipRepository.TipView view) {
+	        TripDto.TipDto dto = new TripDto.TipDto();
+	        dto.setId(view.getId().toString());
+	        dto.setText(view.getText());
+	        dto.setDescription(view.getDescription());
+	        dto.setAuthorName(view.getAuthorName() != null ? view.getAuthorName() : "알 수 없음");
+	        return dto;
+	    }
+	}
@@ -0,0 +1,30 @@
+package com.trip.service;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.trip.repository.TripRepository;
+
+//여행별 버전 번호 (trips.detail_version, 여행, Day, 일정, 노트, 팁 중 하나라도 바뀌면 올라감)
+//상세 페이지 응답 캐시의 키와 ETag로 사용 -> 버전이 같으면 응답도 같음
+//- 버전은 바뀐 내용과 같은 트랜잭션에서 DB에 올림 (TripChangeListener, 벌크 UPDATE는 호출한 쪽에서 직접)
+//  -> 서버가 여러 대여도 한 서버의 변경이 다른 서버의 캐시/ETag를 바로 무효로 만듦
+//- 조회는 PK로 숫자 하나만 읽음 (상세 조회 5번 대신 1번)
+@Component
+public class TripVersionRegistry {
+
+	private static final String MISSING = "none"; // 없는 여행 (상세 조회에서 찾을 수 없음 처리)
+
+	private final TripRepository tripRepository;
+
+	@Autowired
+	public TripVersionRegistry(TripRepository tripRepository) {
+		this.tripRepository = tripRepository;
+	}
+
+	public String currentVersion(UUID tripId) {
+		return tripRepository.findDetailVersion(tripId).map(v -> Long.toString(v, 36)).orElse(MISSING);
+	}
+}
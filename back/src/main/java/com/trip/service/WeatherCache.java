@@ -0,0 +1,63 @@
+package com.trip.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.trip.dto.TripDto;
+import com.trip.util.ExpiringLruCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+//날씨 정보를 (격자 칸 + 날짜) 단위로 공유하는 캐시
+//같은 도시, 같은 날짜를 보는 사용자가 여러 명이어도 외부 API는 칸-날짜당 한 번만 호출됨
+@Component
+public class WeatherCache {
+
+	private final ExpiringLruCache<String, TripDto.WeatherInfo> cache;
+	private final BigDecimal cellSize;
+	private final Counter hits;
+	private final Counter misses;
+
+	@Autowired
+	public WeatherCache(@Value("${weather.cache.max-size:10000}") int maxSize,
+			@Value("${weather.cache.ttl-minutes:60}") long ttlMinutes,
+			@Value("${weather.cache.cell-size:0.1}") BigDecimal cellSize,
+			MeterRegistry meterRegistry) {
+		this.cache = new ExpiringLruCache<>(maxSize, ttlMinutes * 60 * 1000);
+		this.cellSize = cellSize;
+		// /actuator/metrics/weather.cache.requests?tag=result:hit 로 확인 가능
+		this.hits = Counter.builder("weather.cache.requests").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder("weather.cache.requests").tag("result", "miss").register(meterRegistry);
+		meterRegistry.gauge("weather.cache.size", cache, ExpiringLruCache::size);
+	}
+
+	// 좌표를 격자 칸의 중심 좌표로 맞춤 (예: 칸 크기 0.1 -> 37.5665 => 37.6)
+	// 외부 API도 이 좌표로 호출해야 같은 칸의 사용자들이 같은 값을 공유할 수 있음
+	public BigDecimal toCell(BigDecimal coordinate) {
+		return coordinate.divide(cellSize, 0, RoundingMode.HALF_UP).multiply(cellSize);
+	}
+
+	public TripDto.WeatherInfo get(BigDecimal cellLat, BigDecimal cellLng, LocalDate date) {
+		TripDto.WeatherInfo weather = cache.get(key(cellLat, cellLng, date));
+		if (weather != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return weather;
+	}
+
+	public void put(BigDecimal cellLat, BigDecimal cellLng, LocalDate date, TripDto.WeatherInfo weather) {
+		cache.put(key(cellLat, cellLng, date), weather);
+	}
+
+	private String key(BigDecimal cellLat, BigDecimal cellLng, LocalDate date) {
+		return cellLat.toPlainString() + "," + cellLng.toPlainString() + "@" + date;
+	}
+}
@@ -0,0 +1,115 @@
+package com.trip.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.trip.dto.TripDto;
+import com.trip.repository.DayRepository;
+import com.trip.repository.TripRepository;
+
+//다가오는 여행 날짜(Day)들의 날씨를 주기적으로 DB에 갱신하는 백그라운드 작업
+//상세 페이지 조회(getTripDetail)는 외부 API를 부르지 않고 여기서 저장한 값만 읽음
+@Component
+public class WeatherRefreshScheduler {
+
+	private final DayRepository dayRepository;
+	private final WeatherService weatherService;
+	private final WeatherCache weatherCache;
+	private final TransactionTemplate transactionTemplate;
+	private final TripRepository tripRepository;
+
+	@Value("${weather.refresh.horizon-days:15}")
+	private int horizonDays; // 오늘부터 며칠 뒤까지 갱신할지 (예보가 의미있는 범위)
+
+	@Value("${weather.refresh.stale-minutes:180}")
+	private long staleMinutes; // 마지막 갱신 후 이 시간이 지나면 다시 갱신
+
+	@Value("${weather.refresh.retry-minutes:60}")
+	private long retryMinutes; // 갱신에 실패한 Day는 이 시간이 지난 뒤에 다시 시도
+
+	@Value("${weather.refresh.batch-size:500}")
+	private int batchSize; // 한 번 실행할 때 처리할 최대 Day 수
+
+	@Autowired
+	public WeatherRefreshScheduler(DayRepository dayRepository, WeatherService weatherService,
+			WeatherCache weatherCache, TransactionTemplate transactionTemplate, TripRepository tripRepository) {
+		this.dayRepository = dayRepository;
+		this.weatherService = weatherService;
+		this.weatherCache = weatherCache;
+		this.transactionTemplate = transactionTemplate;
+		this.tripRepository = tripRepository;
+	}
+
+	@Scheduled(fixedDelayString = "${weather.refresh.interval-ms:1800000}", initialDelayString = "${weather.refresh.initial-delay-ms:60000}")
+	public void refreshUpcomingWeather() {
+		LocalDate today = LocalDate.now();
+		LocalDateTime now = LocalDateTime.now();
+
+		//1.갱신이 필요한 Day 목록 (id, 날짜, 좌표만)
+		List<DayRepository.WeatherTarget> targets = dayRepository.findWeatherTargets(
+				today, today.plusDays(horizonDays), now.minusMinutes(staleMinutes), now.minusMinutes(retryMinutes),
+				PageRequest.of(0, batchSize));
+		if (targets.isEmpty()) return;
+
+		//2.같은 격자 칸끼리 묶기 -> 칸마다 날짜 범위를 한 번에 요청
+		Map<String, List<DayRepository.WeatherTarget>> targetsByCell = new LinkedHashMap<>();
+		for (DayRepository.WeatherTarget target : targets) {
+			String cell = weatherCache.toCell(target.getLatitude()) + "," + weatherCache.toCell(target.getLongitude());
+			targetsByCell.computeIfAbsent(cell, k -> new ArrayList<>()).add(target);
+		}
+
+		int failed = 0;
+		for (List<DayRepository.WeatherTarget> group : targetsByCell.values()) {
+			DayRepository.WeatherTarget first = group.get(0);
+			LocalDate from = group.stream().map(DayRepository.WeatherTarget::getDate).min(LocalDate::compareTo).get();
+			LocalDate to = group.stream().map(DayRepository.WeatherTarget::getDate).max(LocalDate::compareTo).get();
+
+			// 외부 API 호출은 트랜잭션 밖에서
+			Map<LocalDate, TripDto.WeatherInfo> weatherByDate =
+					weatherService.fetchDailyWeather(first.getLatitude(), first.getLongitude(), from, to);
+			if (weatherByDate.isEmpty()) { // API 실패 -> 기존 값 유지, 시도 시각만 남기고 retry-minutes 뒤에 재시도
+				failed++;
+				transactionTemplate.executeWithoutResult(status -> dayRepository.markWeatherAttempted(
+						group.stream().map(DayRepository.WeatherTarget::getId).toList(), now));
+				continue;
+			}
+
+			//3.칸 단위로 한 트랜잭션에서 UPDATE
+			transactionTemplate.executeWithoutResult(status -> {
+				List<UUID> missing = new ArrayList<>();
+				for (DayRepository.WeatherTarget target : group) {
+					TripDto.WeatherInfo weather = weatherByDate.get(target.getDate());
+					if (weather == null) { // 응답에 없는 날짜 (예보 범위 밖 등)
+						missing.add(target.getId());
+						continue;
+					}
+					BigDecimal temp = weather.getTempMax() != null ? BigDecimal.valueOf(weather.getTempMax()) : null;
+					dayRepository.updateWeather(target.getId(), weather.getDesc(), temp, weather.getIcon(), now);
+				}
+				if (!missing.isEmpty()) {
+					dayRepository.markWeatherAttempted(missing, now);
+				}
+				// 벌크 UPDATE는 엔티티 이벤트가 없으므로 같은 트랜잭션에서 직접 여행 버전을 올림 (상세 페이지 캐시 무효화)
+				tripRepository.incrementDetailVersions(
+						group.stream().map(DayRepository.WeatherTarget::getTripId).collect(Collectors.toSet()));
+			});
+		}
+		if (failed > 0) {
+			System.err.println("날씨 백그라운드 갱신 실패: " + failed + "/" + targetsByCell.size() + "개 지역 (다음 주기에 재시도)");
+		}
+	}
+}
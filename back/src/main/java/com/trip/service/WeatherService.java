@@ -0,0 +1,98 @@
+package com.trip.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trip.dto.TripDto;
+
+//Visual Crossing 날씨 API 호출을 한 곳에 모아둔 서비스
+//여행 기간 전체를 한 번의 timeline 요청으로 가져와서 날짜별 Map으로 돌려줌
+//WeatherCache에 있는 날짜는 API를 호출하지 않음
+@Service
+public class WeatherService {
+
+	private static final String TIMELINE_URL =
+			"https://weather.visualcrossing.com/VisualCrossingWebServices/rest/services/timeline/%s,%s/%s/%s?unitGroup=metric&include=days&key=%s&contentType=json";
+
+	private final RestTemplate restTemplate;
+	private final WeatherCache weatherCache;
+
+	@Value("${weather.api.key}")
+	private String weatherApiKey;
+
+	@Autowired
+	public WeatherService(@Qualifier("weatherRestTemplate") RestTemplate restTemplate, WeatherCache weatherCache) {
+		this.restTemplate = restTemplate;
+		this.weatherCache = weatherCache;
+	}
+
+	// 시작일~종료일의 날씨를 한 번에 조회
+	// 실패하거나 좌표가 없으면 빈 Map을 반환 -> 호출하는 쪽에서 날씨 없이 진행
+	public Map<LocalDate, TripDto.WeatherInfo> fetchDailyWeather(BigDecimal lat, BigDecimal lng, LocalDate from, LocalDate to) {
+		Map<LocalDate, TripDto.WeatherInfo> result = new HashMap<>();
+		if (lat == null || lng == null || from == null || to == null || to.isBefore(from)) {
+			return result;
+		}
+		// 같은 격자 칸이면 같은 캐시를 쓰도록 좌표를 칸 중심으로 맞춤
+		BigDecimal cellLat = weatherCache.toCell(lat);
+		BigDecimal cellLng = weatherCache.toCell(lng);
+
+		//1.캐시에서 먼저 찾고, 없는 날짜의 범위만 기록
+		LocalDate missingFrom = null;
+		LocalDate missingTo = null;
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			TripDto.WeatherInfo cached = weatherCache.get(cellLat, cellLng, date);
+			if (cached != null) {
+				result.put(date, cached);
+			} else {
+				if (missingFrom == null) missingFrom = date;
+				missingTo = date;
+			}
+		}
+		if (missingFrom == null) {
+			return result; // 전부 캐시에 있음 -> API 호출 없음
+		}
+
+		//2.없는 날짜들은 한 번의 요청으로 가져와서 캐시에 저장
+		try {
+			String weatherApiUrl = String.format(TIMELINE_URL, cellLat, cellLng, missingFrom, missingTo, weatherApiKey);
+
+			ResponseEntity<JsonNode> response = restTemplate.getForEntity(weatherApiUrl, JsonNode.class);
+
+			if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+				// days 배열에 날짜별 날씨가 순서대로 들어있음
+				for (JsonNode dayWeather : response.getBody().path("days")) {
+					LocalDate date = LocalDate.parse(dayWeather.path("datetime").asText());
+					TripDto.WeatherInfo weather = toWeatherInfo(dayWeather);
+					weatherCache.put(cellLat, cellLng, date, weather);
+					result.putIfAbsent(date, weather);
+				}
+			}
+		} catch (Exception e) {
+			// 날씨는 부가 정보이므로 실패해도 예외를 던지지 않고 로그만 남김
+			System.err.println("날씨 API 호출 실패 (" + missingFrom + " ~ " + missingTo + "): " + e.getMessage());
+		}
+		return result;
+	}
+
+	// API 응답의 하루치 JSON -> WeatherInfo DTO
+	private TripDto.WeatherInfo toWeatherInfo(JsonNode dayWeather) {
+		TripDto.WeatherInfo info = new TripDto.WeatherInfo();
+		info.setIcon(dayWeather.path("icon").asText(null));
+		info.setDesc(dayWeather.path("conditions").asText(null)); // 예: 'Partially cloudy'
+		if (dayWeather.hasNonNull("tempmax")) {
+			info.setTempMax(dayWeather.path("tempmax").asDouble()); // 예: 25.5
+		}
+		return info;
+	}
+}
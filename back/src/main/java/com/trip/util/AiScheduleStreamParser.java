@@ -0,0 +1,248 @@
+package com.trip.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.trip.dto.AiDto;
+
+//AI가 만든 일정 JSON을 조금씩(또는 한 번에) 받아서 하루치(AiDailyPlan)가 완성되는 즉시 꺼내주는 파서
+//(Jackson의 non-blocking 파서 사용 -> 응답 전체를 문자열로 가공하지 않고 토큰 단위로 처리)
+//{"schedule":[ {"day":1,"activities":[{...},{...}]}, ... ]} 에서 {day N...} 객체가 닫히는 순간 onDay 호출
+//응답이 깨져 있어도 살릴 수 있는 만큼 살림
+//- 앞에 붙은 ```json, 설명 문장 등은 첫 '{' 이 나올 때까지 버림
+//- 최상위 객체가 닫힌 뒤에 들어오는 문자(``` 등)는 무시
+//- 주석, 배열 끝의 쉼표는 허용
+//- 중간에 끊기거나 문법이 깨진 경우: 그때까지 완성된 날짜는 모두 살림
+//  작성 중이던 날짜는 활동 일부만 있으므로 onDay로 넘기지 않고 빠진 날짜로 취급 (호출하는 쪽에서 다시 생성)
+//- 잘린 날짜는 getPartialDays()로 확인
+public class AiScheduleStreamParser {
+
+	// 깊이: 최상위 객체 = 1, schedule 배열 = 2, 하루치 객체 = 3, activities 배열 = 4, 활동 객체 = 5
+	private static final int SCHEDULE_DEPTH = 2;
+	private static final int DAY_DEPTH = 3;
+	private static final int ACTIVITIES_DEPTH = 4;
+	private static final int ACTIVITY_DEPTH = 5;
+
+	private final ObjectMapper objectMapper;
+	private final Consumer<AiDto.AiDailyPlan> onDay;
+	private final JsonParser parser;
+	private final ByteArrayFeeder feeder;
+
+	private boolean rootStarted = false; // 첫 '{' 를 만났는지
+	private boolean finished = false;    // 최상위 객체가 정상적으로 닫혔는지
+	private boolean stopped = false;     // 더 이상 읽지 않음 (정상 종료, 문법 오류, 입력 끝)
+	private boolean truncated = false;   // 최상위 객체가 닫히기 전에 끝났거나 문법이 깨짐
+	private int depth = 0;               // 현재 객체/배열 깊이
+	private boolean inSchedule = false;  // schedule 배열 안인지
+	private boolean inActivities = false;// 하루치 객체의 activities 배열 안인지
+	private String lastRootField;        // 최상위 객체에서 마지막으로 읽은 필드 이름
+	private String lastDayField;         // 하루치 객체에서 마지막으로 읽은 필드 이름
+
+	// 지금 읽고 있는 하루치
+	private boolean inDay = false;
+	private int dayOrdinal = 0;          // schedule 배열에서 몇 번째 객체인지 ("day" 필드가 없을 때 사용)
+	private Integer currentDayNumber;
+	private List<AiDto.AiActivity> currentActivities;
+	private TokenBuffer currentActivity; // 지금 읽고 있는 활동 객체의 토큰들
+
+	private final Set<Integer> completeDays = new TreeSet<>();
+	private final Set<Integer> partialDays = new TreeSet<>();
+
+	public AiScheduleStreamParser(ObjectMapper objectMapper, Consumer<AiDto.AiDailyPlan> onDay) throws IOException {
+		this.objectMapper = objectMapper;
+		this.onDay = onDay;
+		// 주석, 배열 끝의 쉼표를 허용하는 팩토리 (나머지 설정은 objectMapper 것을 그대로 사용)
+		JsonFactory factory = objectMapper.getFactory().rebuild()
+				.enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+				.enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+				.build();
+		factory.setCodec(objectMapper);
+		this.parser = factory.createNonBlockingByteArrayParser();
+		this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+	}
+
+	// 완성된 응답 문자열을 한 번에 파싱 (살릴 수 있는 날짜만 담긴 결과, 깨진 입력이어도 예외 없음)
+	public static AiDto.AiScheduleResult parse(ObjectMapper objectMapper, String content) throws IOException {
+		List<AiDto.AiDailyPlan> plans = new ArrayList<>();
+		AiScheduleStreamParser streamParser = new AiScheduleStreamParser(objectMapper, plans::add);
+		streamParser.feed(content);
+		streamParser.end();
+		AiDto.AiScheduleResult result = new AiDto.AiScheduleResult();
+		result.setSchedule(plans);
+		return result;
+	}
+
+	// 새로 도착한 텍스트 조각을 넣음
+	public void feed(String chunk) throws IOException {
+		if (stopped || chunk == null || chunk.isEmpty()) return;
+		int start = 0;
+		if (!rootStarted) {
+			start = chunk.indexOf('{');
+			if (start < 0) return; // 아직 JSON 시작 전 (```json 등)
+			rootStarted = true;
+		}
+		byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+		int offset = start == 0 ? 0 : chunk.substring(0, start).getBytes(StandardCharsets.UTF_8).length;
+		feeder.feedInput(bytes, offset, bytes.length);
+		drain();
+	}
+
+	// 스트림이 끝났을 때 호출
+	public void end() throws IOException {
+		if (!stopped) {
+			feeder.endOfInput();
+			drain();
+		}
+		if (!finished) {
+			truncated = true;
+			stop();
+		}
+	}
+
+	// onDay로 넘긴(완성된) 날짜 수
+	public int getDayCount() {
+		return completeDays.size();
+	}
+
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	// 작성 중에 잘려서 넘기지 않은 날짜들
+	public Set<Integer> getPartialDays() {
+		return partialDays;
+	}
+
+	// 지금까지 들어온 바이트로 만들 수 있는 토큰을 모두 처리 (문법이 깨지면 그때까지 읽은 것만 살리고 멈춤)
+	private void drain() throws IOException {
+		try {
+			JsonToken token;
+			while (!stopped && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+				handle(token);
+			}
+		} catch (JsonProcessingException e) {
+			truncated = true;
+			stop();
+		}
+	}
+
+	private void handle(JsonToken token) throws IOException {
+		// 활동 객체를 읽는 중이면 토큰을 그대로 복사
+		if (currentActivity != null) {
+			currentActivity.copyCurrentEvent(parser);
+			if (token.isStructStart()) depth++;
+			if (token.isStructEnd()) {
+				depth--;
+				if (depth == ACTIVITIES_DEPTH) finishActivity();
+			}
+			return;
+		}
+
+		switch (token) {
+			case START_OBJECT -> {
+				depth++;
+				if (inSchedule && depth == DAY_DEPTH) { // schedule 배열 안의 새 하루치 객체 시작
+					inDay = true;
+					dayOrdinal++;
+					currentDayNumber = null;
+					currentActivities = new ArrayList<>();
+					lastDayField = null;
+				} else if (inActivities && depth == ACTIVITY_DEPTH) { // activities 배열 안의 새 활동
+					currentActivity = new TokenBuffer(parser, null);
+					currentActivity.copyCurrentEvent(parser);
+				}
+			}
+			case START_ARRAY -> {
+				depth++;
+				if (depth == SCHEDULE_DEPTH && "schedule".equals(lastRootField)) inSchedule = true;
+				if (depth == ACTIVITIES_DEPTH && inDay && "activities".equals(lastDayField)) inActivities = true;
+			}
+			case END_ARRAY -> {
+				if (depth == SCHEDULE_DEPTH) inSchedule = false;
+				if (depth == ACTIVITIES_DEPTH) inActivities = false;
+				depth--;
+			}
+			case END_OBJECT -> {
+				depth--;
+				if (depth == SCHEDULE_DEPTH && inDay) finishDay(false); // 하루치 객체가 닫힘
+				if (depth == 0) { // 최상위 객체가 닫힘 -> 이후 입력은 무시
+					finished = true;
+					stopped = true;
+				}
+			}
+			case FIELD_NAME -> {
+				if (depth == 1) lastRootField = parser.currentName();
+				if (depth == DAY_DEPTH && inDay) lastDayField = parser.currentName();
+			}
+			case VALUE_NUMBER_INT, VALUE_STRING -> {
+				if (depth == DAY_DEPTH && inDay && "day".equals(lastDayField)) {
+					currentDayNumber = toDayNumber(token);
+				}
+			}
+			default -> {
+				// 그 외 값들(schedule 밖의 값 등)은 무시
+			}
+		}
+	}
+
+	private void finishActivity() {
+		try {
+			currentActivities.add(objectMapper.readValue(currentActivity.asParser(objectMapper), AiDto.AiActivity.class));
+		} catch (IOException e) {
+			// 형식이 맞지 않는 활동 하나는 버리고 나머지는 계속 읽음
+		}
+		currentActivity = null;
+	}
+
+	private void finishDay(boolean partial) {
+		int dayNumber = currentDayNumber != null ? currentDayNumber : dayOrdinal;
+		List<AiDto.AiActivity> activities = currentActivities;
+		inDay = false;
+		inActivities = false;
+		currentActivities = null;
+		currentActivity = null;
+
+		// 같은 날짜가 두 번 나오면 처음 완성된 것만 사용, 활동이 하나도 없는 날짜는 빠진 날짜로 취급
+		if (completeDays.contains(dayNumber)) return;
+		if (activities.isEmpty()) return;
+
+		// 잘린 날짜는 기록만 하고 넘기지 않음 -> 일부만 저장되거나 캐시에 남지 않고 다시 생성됨
+		if (partial) {
+			partialDays.add(dayNumber);
+			return;
+		}
+		AiDto.AiDailyPlan plan = new AiDto.AiDailyPlan();
+		plan.setDay(dayNumber);
+		plan.setActivities(activities);
+		completeDays.add(dayNumber);
+		onDay.accept(plan);
+	}
+
+	// 더 읽을 수 없을 때: 작성 중이던 날짜가 있으면 잘린 날짜로 기록
+	private void stop() {
+		stopped = true;
+		if (inDay) finishDay(true);
+	}
+
+	private Integer toDayNumber(JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NUMBER_INT) return parser.getIntValue();
+		try {
+			return Integer.parseInt(parser.getText().replaceAll("[^0-9]", ""));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
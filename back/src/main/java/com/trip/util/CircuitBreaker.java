@@ -0,0 +1,56 @@
+package com.trip.util;
+
+//외부 API가 계속 실패할 때 잠깐 호출을 막아주는 간단한 서킷 브레이커
+//CLOSED    : 정상. 연속 실패가 failureThreshold번 쌓이면 OPEN
+//OPEN      : openMillis 동안 모든 호출을 바로 거절 (느린 API를 기다리느라 스레드를 잡아두지 않음)
+//HALF_OPEN : openMillis가 지나면 시험 호출 1건만 허용 -> 성공하면 CLOSED, 실패하면 다시 OPEN
+public class CircuitBreaker {
+
+	public enum State { CLOSED, OPEN, HALF_OPEN }
+
+	private final int failureThreshold;
+	private final long openMillis;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures = 0;
+	private long openedAt = 0;
+	private boolean trialInFlight = false;
+
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		this.failureThreshold = failureThreshold;
+		this.openMillis = openMillis;
+	}
+
+	// 지금 호출해도 되는지 확인 (true면 호출 후 반드시 recordSuccess/recordFailure 호출)
+	public synchronized boolean allowRequest() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+			state = State.HALF_OPEN;
+			trialInFlight = false;
+		}
+		if (state == State.CLOSED) return true;
+		if (state == State.HALF_OPEN && !trialInFlight) {
+			trialInFlight = true;
+			return true;
+		}
+		return false;
+	}
+
+	public synchronized void recordSuccess() {
+		consecutiveFailures = 0;
+		trialInFlight = false;
+		state = State.CLOSED;
+	}
+
+	public synchronized void recordFailure() {
+		consecutiveFailures++;
+		trialInFlight = false;
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = System.currentTimeMillis();
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+}
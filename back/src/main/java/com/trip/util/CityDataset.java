@@ -0,0 +1,212 @@
+package com.trip.util;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.trip.entity.City;
+
+//도시 데이터를 열(column) 단위 기본형 배열로 담은 읽기 전용 데이터셋
+//파일로 저장해 두면 시작할 때 DB/JPA를 거치지 않고 메모리 매핑(mmap)으로 바로 열 수 있음
+//-> City 엔티티(Long, BigDecimal 2개, String) 수만 개를 힙에 만들지 않고, 필요한 행만 City로 꺼냄
+//파일 구조 (little endian)
+//  헤더: MAGIC, VERSION, 행 수, 문자열 수, 테이블 확인값(개수, 최대 id, 인구 합)
+//  열: id(long) / lat(double) / lng(double) / population(long) / 도시 이름 번호(int) / 국가 번호(int)
+//  문자열 표: 시작 위치(int, 문자열 수 + 1개) + UTF-8 바이트 (같은 국가/이름은 한 번만 저장)
+public class CityDataset {
+
+	private static final int MAGIC = 0x43495459; // "CITY"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 4 * 4 + 8 * 3;
+	private static final long NULL_LONG = Long.MIN_VALUE; // population, maxId가 없을 때
+
+	private final ByteBuffer buffer;
+	private final int size;
+	private final int stringCount;
+	private final long stampCount;
+	private final Long stampMaxId;
+	private final Long stampPopulationSum;
+	// 열 시작 위치
+	private final int idsAt;
+	private final int latsAt;
+	private final int lngsAt;
+	private final int populationsAt;
+	private final int namesAt;
+	private final int countriesAt;
+	private final int stringOffsetsAt;
+	private final int stringBytesAt;
+
+	private CityDataset(ByteBuffer buffer) {
+		this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IllegalArgumentException("도시 데이터 파일 형식이 올바르지 않습니다.");
+		}
+		this.size = buffer.getInt(8);
+		this.stringCount = buffer.getInt(12);
+		this.stampCount = buffer.getLong(16);
+		this.stampMaxId = nullable(buffer.getLong(24));
+		this.stampPopulationSum = nullable(buffer.getLong(32));
+		this.idsAt = HEADER_BYTES;
+		this.latsAt = idsAt + size * 8;
+		this.lngsAt = latsAt + size * 8;
+		this.populationsAt = lngsAt + size * 8;
+		this.namesAt = populationsAt + size * 8;
+		this.countriesAt = namesAt + size * 4;
+		this.stringOffsetsAt = countriesAt + size * 4;
+		this.stringBytesAt = stringOffsetsAt + (stringCount + 1) * 4;
+		if (buffer.capacity() < stringBytesAt || buffer.capacity() < stringBytesAt + buffer.getInt(stringOffsetsAt + stringCount * 4)) {
+			throw new IllegalArgumentException("도시 데이터 파일이 잘렸습니다.");
+		}
+	}
+
+	// 파일을 읽기 전용으로 메모리 매핑 (내용은 OS 페이지 캐시에 있고 힙에는 올라오지 않음)
+	public static CityDataset open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new CityDataset(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	// DB에서 읽은 도시 목록으로 데이터셋 만들기 (stamp*: 만들 당시의 cities_list 확인값)
+	public static CityDataset fromCities(List<City> cities, long stampCount, Long stampMaxId, Long stampPopulationSum) {
+		Map<String, Integer> stringIds = new HashMap<>();
+		List<byte[]> strings = new ArrayList<>();
+		int n = cities.size();
+		int[] names = new int[n];
+		int[] countries = new int[n];
+		for (int i = 0; i < n; i++) {
+			names[i] = intern(cities.get(i).getCity(), stringIds, strings);
+			countries[i] = intern(cities.get(i).getCountry(), stringIds, strings);
+		}
+		int stringBytes = strings.stream().mapToInt(b -> b.length).sum();
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + n * (8 * 4 + 4 * 2) + (strings.size() + 1) * 4 + stringBytes)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(strings.size());
+		buffer.putLong(stampCount).putLong(orNull(stampMaxId)).putLong(orNull(stampPopulationSum));
+		for (City city : cities) buffer.putLong(city.getId() == null ? 0 : city.getId());
+		for (City city : cities) buffer.putDouble(city.getLat() == null ? Double.NaN : city.getLat().doubleValue());
+		for (City city : cities) buffer.putDouble(city.getLng() == null ? Double.NaN : city.getLng().doubleValue());
+		for (City city : cities) buffer.putLong(orNull(city.getPopulation()));
+		for (int name : names) buffer.putInt(name);
+		for (int country : countries) buffer.putInt(country);
+		int offset = 0;
+		for (byte[] string : strings) {
+			buffer.putInt(offset);
+			offset += string.length;
+		}
+		buffer.putInt(offset);
+		for (byte[] string : strings) buffer.put(string);
+		return new CityDataset(buffer.flip());
+	}
+
+	// 파일로 저장 (임시 파일에 쓴 뒤 바꿔치기 -> 읽는 쪽이 반쯤 쓴 파일을 보지 않음)
+	public void writeTo(Path path) throws IOException {
+		Path dir = path.toAbsolutePath().getParent();
+		if (dir != null) Files.createDirectories(dir);
+		Path tmp = Files.createTempFile(dir, "cities", ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer copy = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(0).limit(buffer.capacity());
+			while (copy.hasRemaining()) channel.write(copy);
+			channel.force(true);
+		}
+		try {
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.deleteIfExists(tmp);
+			throw e;
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long getStampCount() {
+		return stampCount;
+	}
+
+	public Long getStampMaxId() {
+		return stampMaxId;
+	}
+
+	public Long getStampPopulationSum() {
+		return stampPopulationSum;
+	}
+
+	public long id(int row) {
+		return buffer.getLong(idsAt + row * 8);
+	}
+
+	// 좌표가 없으면 NaN
+	public double lat(int row) {
+		return buffer.getDouble(latsAt + row * 8);
+	}
+
+	public double lng(int row) {
+		return buffer.getDouble(lngsAt + row * 8);
+	}
+
+	public boolean hasLocation(int row) {
+		return !Double.isNaN(lat(row)) && !Double.isNaN(lng(row));
+	}
+
+	// 인구가 없으면 0
+	public long population(int row) {
+		long population = buffer.getLong(populationsAt + row * 8);
+		return population == NULL_LONG ? 0 : population;
+	}
+
+	public String name(int row) {
+		return string(buffer.getInt(namesAt + row * 4));
+	}
+
+	public String country(int row) {
+		return string(buffer.getInt(countriesAt + row * 4));
+	}
+
+	// 응답으로 내보낼 행만 City 객체로 만듦
+	public City toCity(int row) {
+		long population = buffer.getLong(populationsAt + row * 8);
+		return new City(id(row), name(row),
+				Double.isNaN(lat(row)) ? null : BigDecimal.valueOf(lat(row)),
+				Double.isNaN(lng(row)) ? null : BigDecimal.valueOf(lng(row)),
+				country(row),
+				population == NULL_LONG ? null : population);
+	}
+
+	private String string(int index) {
+		if (index < 0) return null;
+		int start = buffer.getInt(stringOffsetsAt + index * 4);
+		int end = buffer.getInt(stringOffsetsAt + (index + 1) * 4);
+		byte[] bytes = new byte[end - start];
+		buffer.get(stringBytesAt + start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int intern(String value, Map<String, Integer> stringIds, List<byte[]> strings) {
+		if (value == null) return -1;
+		return stringIds.computeIfAbsent(value, v -> {
+			strings.add(v.getBytes(StandardCharsets.UTF_8));
+			return strings.size() - 1;
+		});
+	}
+
+	private static long orNull(Long value) {
+		return value == null ? NULL_LONG : value;
+	}
+
+	private static Long nullable(long value) {
+		return value == NULL_LONG ? null : value;
+	}
+}
@@ -0,0 +1,198 @@
+package com.trip.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.trip.entity.City;
+
+//도시 좌표 KD-tree (한 번 만든 뒤에는 바꾸지 않음 -> 여러 스레드가 동시에 조회해도 안전)
+//위도/경도를 지구 중심 기준 단위 벡터(x, y, z)로 바꿔서 3차원 트리로 저장
+//-> 날짜 변경선(경도 ±180)이나 극지방 근처에서도 거리 계산이 어긋나지 않음
+//직선(현) 거리는 지표면 거리와 순서가 같으므로 트리 탐색은 현 거리로 하고, 결과만 km로 바꿈
+//좌표는 double 배열에 트리 순서대로 저장 (가운데 원소가 노드, 왼쪽/오른쪽 구간이 자식)
+public class CityKdTree {
+
+	public static final double EARTH_RADIUS_KM = 6371.0088;
+
+	private final CityDataset dataset;
+	private final int[] rows;   // 트리 순서대로 정렬한 데이터셋 행 번호
+	private final double[] xs;
+	private final double[] ys;
+	private final double[] zs;
+
+	// 조회 결과 (도시와 기준점으로부터의 거리)
+	public record Hit(City city, double distanceKm) {}
+
+	public CityKdTree(CityDataset dataset) {
+		this.dataset = dataset;
+		List<Integer> located = new ArrayList<>();
+		for (int row = 0; row < dataset.size(); row++) {
+			if (dataset.hasLocation(row)) located.add(row); // 좌표가 없는 도시는 제외
+		}
+		int n = located.size();
+		double[][] points = new double[n][];
+		for (int i = 0; i < n; i++) {
+			points[i] = toVector(dataset.lat(located.get(i)), dataset.lng(located.get(i)));
+		}
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) order[i] = i;
+		build(order, points, 0, n, 0);
+
+		this.rows = new int[n];
+		this.xs = new double[n];
+		this.ys = new double[n];
+		this.zs = new double[n];
+		for (int i = 0; i < n; i++) {
+			rows[i] = located.get(order[i]);
+			xs[i] = points[order[i]][0];
+			ys[i] = points[order[i]][1];
+			zs[i] = points[order[i]][2];
+		}
+	}
+
+	public int size() {
+		return rows.length;
+	}
+
+	// (lat, lng)에서 가까운 순으로 최대 n개
+	public List<Hit> nearest(double lat, double lng, int n) {
+		if (n <= 0 || rows.length == 0) return List.of();
+		double[] q = toVector(lat, lng);
+		Neighbors best = new Neighbors(Math.min(n, rows.length));
+		searchNearest(q, 0, rows.length, 0, best);
+		return best.toHits(this);
+	}
+
+	// (lat, lng)에서 radiusKm 이내의 도시를 가까운 순으로 최대 limit개
+	public List<Hit> within(double lat, double lng, double radiusKm, int limit) {
+		if (limit <= 0 || radiusKm < 0 || rows.length == 0) return List.of();
+		double[] q = toVector(lat, lng);
+		double chord = 2 * Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+		Neighbors best = new Neighbors(Math.min(limit, rows.length));
+		best.maxSquared = chord * chord;
+		searchNearest(q, 0, rows.length, 0, best);
+		return best.toHits(this);
+	}
+
+	// 두 좌표 사이의 지표면 거리 (km, haversine)
+	public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLng = Math.toRadians(lng2 - lng1);
+		double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+				+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+	}
+
+	// [lo, hi) 구간을 axis 기준으로 정렬해서 가운데를 노드로 삼고, 양쪽 구간은 다음 축으로 재귀
+	private static void build(Integer[] order, double[][] points, int lo, int hi, int axis) {
+		if (hi - lo <= 1) return;
+		Arrays.sort(order, lo, hi, (a, b) -> Double.compare(points[a][axis], points[b][axis]));
+		int mid = (lo + hi) >>> 1;
+		build(order, points, lo, mid, (axis + 1) % 3);
+		build(order, points, mid + 1, hi, (axis + 1) % 3);
+	}
+
+	private void searchNearest(double[] q, int lo, int hi, int axis, Neighbors best) {
+		if (lo >= hi) return;
+		int mid = (lo + hi) >>> 1;
+		double dx = xs[mid] - q[0];
+		double dy = ys[mid] - q[1];
+		double dz = zs[mid] - q[2];
+		best.offer(mid, dx * dx + dy * dy + dz * dz);
+
+		double diff = axis == 0 ? -dx : (axis == 1 ? -dy : -dz); // 기준점이 노드보다 크면 양수
+		int next = (axis + 1) % 3;
+		// 기준점이 있는 쪽부터 찾고, 반대쪽은 분할면까지의 거리가 현재 후보보다 가까울 때만 찾음
+		if (diff < 0) {
+			searchNearest(q, lo, mid, next, best);
+			if (diff * diff <= best.worst()) searchNearest(q, mid + 1, hi, next, best);
+		} else {
+			searchNearest(q, mid + 1, hi, next, best);
+			if (diff * diff <= best.worst()) searchNearest(q, lo, mid, next, best);
+		}
+	}
+
+	private static double[] toVector(double lat, double lng) {
+		double phi = Math.toRadians(lat);
+		double lambda = Math.toRadians(lng);
+		double cosPhi = Math.cos(phi);
+		return new double[] { cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi) };
+	}
+
+	// 가장 가까운 k개 후보 (거리가 가장 먼 후보가 맨 앞인 최대 힙, 배열로 구현)
+	private static final class Neighbors {
+		private final int[] nodes;
+		private final double[] squared;
+		private int size = 0;
+		private double maxSquared = Double.POSITIVE_INFINITY; // 반경 조회일 때 이보다 먼 도시는 제외
+
+		Neighbors(int k) {
+			this.nodes = new int[k];
+			this.squared = new double[k];
+		}
+
+		// 더 넣을 자리가 있으면 반경 한도, 꽉 찼으면 가장 먼 후보까지의 거리
+		double worst() {
+			return size < nodes.length ? maxSquared : squared[0];
+		}
+
+		void offer(int node, double d) {
+			if (d > maxSquared) return;
+			if (size < nodes.length) {
+				int i = size++;
+				nodes[i] = node;
+				squared[i] = d;
+				siftUp(i);
+			} else if (d < squared[0]) {
+				nodes[0] = node;
+				squared[0] = d;
+				siftDown(0);
+			}
+		}
+
+		List<Hit> toHits(CityKdTree tree) {
+			Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) order[i] = i;
+			Arrays.sort(order, (a, b) -> Double.compare(squared[a], squared[b]));
+			List<Hit> hits = new ArrayList<>(size);
+			for (int i : order) {
+				double chord = Math.sqrt(squared[i]);
+				double km = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, chord / 2));
+				hits.add(new Hit(tree.dataset.toCity(tree.rows[nodes[i]]), km)); // 결과로 내보낼 도시만 City로 만듦
+			}
+			return hits;
+		}
+
+		private void siftUp(int i) {
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (squared[parent] >= squared[i]) return;
+				swap(i, parent);
+				i = parent;
+			}
+		}
+
+		private void siftDown(int i) {
+			while (true) {
+				int left = 2 * i + 1;
+				int right = left + 1;
+				int largest = i;
+				if (left < size && squared[left] > squared[largest]) largest = left;
+				if (right < size && squared[right] > squared[largest]) largest = right;
+				if (largest == i) return;
+				swap(i, largest);
+				i = largest;
+			}
+		}
+
+		private void swap(int a, int b) {
+			int node = nodes[a];
+			nodes[a] = nodes[b];
+			nodes[b] = node;
+			double d = squared[a];
+			squared[a] = squared[b];
+			squared[b] = d;
+		}
+	}
+}
@@ -0,0 +1,264 @@
+package com.trip.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.trip.entity.City;
+
+//도시 검색 엔진 (한 번 만든 뒤에는 바꾸지 않음 -> 여러 스레드가 동시에 검색해도 안전)
+//검색 대상 이름: 도시의 영문 이름 + 한글 등 별칭(aliases)
+//1.접두어 일치: 이름을 정렬한 배열에서 이진 탐색 (한두 글자 검색어는 상위 목록을 미리 계산)
+//2.오타 허용: 3글자 이상이면 3-gram이 겹치는 이름을 후보로 뽑고 편집 거리(인접 글자 뒤바뀜 포함)로 확인
+//3.점수 = 일치 품질(정확 > 접두어 > 포함 > 오타) + 인구 가중치, 국가로 거른 뒤 상위 limit개 반환
+//대소문자, 악센트(é -> e)는 구분하지 않음
+public class CitySearchEngine {
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final int GRAM = 3;
+	private static final int MAX_FUZZY_CANDIDATES = 300; // 편집 거리를 계산할 최대 후보 수
+	private static final double POPULATION_WEIGHT = 0.15;
+
+	private final CityDataset dataset;
+	private final String[] countryKeys;   // 도시별 정규화된 국가 이름
+	private final double[] popularity;    // 도시별 인구 가중치 (0 ~ POPULATION_WEIGHT)
+	private final String[] nameKeys;      // 검색 대상 이름 (정렬됨)
+	private final int[] nameCity;         // nameKeys[i]가 가리키는 도시 번호
+	private final Map<String, int[]> gramPostings;  // 3-gram -> 그 gram을 가진 이름 번호들
+	private final Map<String, int[]> topByPrefix;   // 짧은 접두어 -> 상위 도시 번호들 (국가 필터 없을 때)
+	private final Map<String, String> countryAliases; // 정규화된 국가 별칭 -> 정규화된 국가 이름
+	private final int maxLimit;
+	private final int precomputedPrefixLength;
+
+	// cityAliases: 영문 도시 이름 -> 별칭들, countryAliases: 별칭 -> 영문 국가 이름
+	public CitySearchEngine(CityDataset dataset, Map<String, List<String>> cityAliases,
+			Map<String, String> countryAliases, int maxLimit, int precomputedPrefixLength) {
+		this.maxLimit = maxLimit;
+		this.precomputedPrefixLength = precomputedPrefixLength;
+		int n = dataset.size();
+		this.dataset = dataset;
+		this.countryKeys = new String[n];
+		this.popularity = new double[n];
+
+		Map<String, List<String>> aliasesByKey = new HashMap<>();
+		cityAliases.forEach((name, aliases) -> aliasesByKey.put(normalize(name), aliases));
+
+		List<String> names = new ArrayList<>();
+		List<Integer> owners = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			countryKeys[i] = normalize(dataset.country(i));
+			popularity[i] = POPULATION_WEIGHT * Math.min(1.0, Math.log10(dataset.population(i) + 1.0) / 8); // 1억 명이면 최대
+			Set<String> keys = new LinkedHashSet<>();
+			keys.add(normalize(dataset.name(i)));
+			for (String alias : aliasesByKey.getOrDefault(keys.iterator().next(), List.of())) {
+				keys.add(normalize(alias));
+			}
+			for (String key : keys) {
+				if (key.isEmpty()) continue;
+				names.add(key);
+				owners.add(i);
+			}
+		}
+
+		Integer[] order = new Integer[names.size()];
+		for (int i = 0; i < order.length; i++) order[i] = i;
+		Arrays.sort(order, Comparator.comparing(names::get));
+		this.nameKeys = new String[order.length];
+		this.nameCity = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			nameKeys[i] = names.get(order[i]);
+			nameCity[i] = owners.get(order[i]);
+		}
+
+		Map<String, List<Integer>> postings = new HashMap<>();
+		for (int i = 0; i < nameKeys.length; i++) {
+			for (String gram : new LinkedHashSet<>(grams("^" + nameKeys[i] + "$"))) {
+				postings.computeIfAbsent(gram, k -> new ArrayList<>()).add(i);
+			}
+		}
+		this.gramPostings = new HashMap<>();
+		postings.forEach((gram, list) -> gramPostings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+
+		this.countryAliases = new HashMap<>();
+		countryAliases.forEach((alias, country) -> this.countryAliases.put(normalize(alias), normalize(country)));
+
+		this.topByPrefix = new HashMap<>();
+		for (String key : nameKeys) {
+			for (int len = 1; len <= precomputedPrefixLength && len <= key.length(); len++) {
+				String prefix = key.substring(0, len);
+				if (!topByPrefix.containsKey(prefix)) {
+					topByPrefix.put(prefix, rank(prefixMatches(prefix, null), maxLimit));
+				}
+			}
+		}
+	}
+
+	public int size() {
+		return dataset.size();
+	}
+
+	// query와 비슷한 도시를 점수 순으로 최대 limit개 (country가 있으면 그 국가만, 영문/별칭 모두 가능)
+	public List<City> search(String query, String country, int limit) {
+		String q = normalize(query);
+		int k = Math.max(1, Math.min(limit, maxLimit));
+		if (q.isEmpty()) return List.of();
+		String countryKey = country == null || country.isBlank() ? null : resolveCountry(country);
+
+		if (countryKey == null && q.length() <= precomputedPrefixLength) {
+			int[] top = topByPrefix.get(q);
+			if (top != null) return toCities(top, k);
+		}
+
+		Map<Integer, Double> scores = prefixMatches(q, countryKey);
+		if (q.length() >= GRAM) {
+			addFuzzyMatches(q, countryKey, scores);
+		}
+		return toCities(rank(scores, k), k);
+	}
+
+	// q로 시작하는 이름을 가진 도시들 (도시 번호 -> 점수)
+	private Map<Integer, Double> prefixMatches(String q, String countryKey) {
+		Map<Integer, Double> scores = new HashMap<>();
+		int from = lowerBound(q);
+		int to = lowerBound(q + Character.MAX_VALUE);
+		for (int i = from; i < to; i++) {
+			int city = nameCity[i];
+			if (countryKey != null && !countryKey.equals(countryKeys[city])) continue;
+			// 정확히 같으면 1.0, 검색어가 이름의 많은 부분을 차지할수록 높음
+			double quality = nameKeys[i].length() == q.length() ? 1.0 : 0.8 + 0.1 * q.length() / nameKeys[i].length();
+			scores.merge(city, quality + popularity[city], Math::max);
+		}
+		return scores;
+	}
+
+	// 3-gram이 많이 겹치는 이름부터 최대 MAX_FUZZY_CANDIDATES개를 편집 거리로 확인
+	private void addFuzzyMatches(String q, String countryKey, Map<Integer, Double> scores) {
+		Map<Integer, Integer> overlap = new HashMap<>();
+		for (String gram : new LinkedHashSet<>(grams("^" + q))) { // 검색어는 입력 중일 수 있으므로 끝 표시($)는 붙이지 않음
+			int[] posting = gramPostings.get(gram);
+			if (posting == null) continue;
+			for (int name : posting) overlap.merge(name, 1, Integer::sum);
+		}
+		List<Map.Entry<Integer, Integer>> candidates = new ArrayList<>(overlap.entrySet());
+		candidates.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed());
+
+		int maxDistance = q.length() <= 4 ? 1 : (q.length() <= 8 ? 2 : 3);
+		int checked = 0;
+		for (Map.Entry<Integer, Integer> candidate : candidates) {
+			if (checked++ >= MAX_FUZZY_CANDIDATES) break;
+			String name = nameKeys[candidate.getKey()];
+			int city = nameCity[candidate.getKey()];
+			if (countryKey != null && !countryKey.equals(countryKeys[city])) continue;
+
+			double quality;
+			if (name.startsWith(q)) {
+				continue; // 접두어 일치는 이미 점수를 매김
+			} else if (name.contains(q)) {
+				quality = 0.6;
+			} else {
+				int distance = typeaheadDistance(q, name, maxDistance);
+				if (distance > maxDistance) continue;
+				quality = 0.7 - 0.15 * distance;
+			}
+			scores.merge(city, quality + popularity[city], Math::max);
+		}
+	}
+
+	// 이름 전체 또는 이름 앞부분(입력 중인 검색어 길이 근처)과의 편집 거리 중 작은 값
+	private static int typeaheadDistance(String q, String name, int maxDistance) {
+		int best = distance(q, name, maxDistance);
+		for (int len = Math.max(1, q.length() - 1); len <= q.length() + 1 && len < name.length(); len++) {
+			best = Math.min(best, distance(q, name.substring(0, len), maxDistance));
+		}
+		return best;
+	}
+
+	// 편집 거리 (삽입/삭제/교체 + 인접한 두 글자 뒤바뀜), maxDistance를 넘으면 maxDistance + 1
+	private static int distance(String a, String b, int maxDistance) {
+		if (Math.abs(a.length() - b.length()) > maxDistance) return maxDistance + 1;
+		int[] prevPrev = new int[b.length() + 1];
+		int[] prev = new int[b.length() + 1];
+		int[] cur = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) prev[j] = j;
+		for (int i = 1; i <= a.length(); i++) {
+			cur[0] = i;
+			int rowMin = cur[0];
+			for (int j = 1; j <= b.length(); j++) {
+				int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+				if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+					cur[j] = Math.min(cur[j], prevPrev[j - 2] + 1);
+				}
+				rowMin = Math.min(rowMin, cur[j]);
+			}
+			if (rowMin > maxDistance) return maxDistance + 1; // 이미 한도를 넘음
+			int[] tmp = prevPrev;
+			prevPrev = prev;
+			prev = cur;
+			cur = tmp;
+		}
+		return Math.min(prev[b.length()], maxDistance + 1);
+	}
+
+	// 점수 높은 순 (같으면 인구 많은 순) 상위 k개의 도시 번호
+	private int[] rank(Map<Integer, Double> scores, int k) {
+		Comparator<Map.Entry<Integer, Double>> order = Map.Entry.<Integer, Double>comparingByValue()
+				.thenComparing(e -> popularity[e.getKey()]);
+		PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(k + 1, order); // 맨 앞이 가장 낮은 점수
+		for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+			heap.offer(entry);
+			if (heap.size() > k) heap.poll();
+		}
+		List<Map.Entry<Integer, Double>> top = new ArrayList<>(heap);
+		top.sort(order.reversed());
+		return top.stream().mapToInt(Map.Entry::getKey).toArray();
+	}
+
+	private String resolveCountry(String country) {
+		String key = normalize(country);
+		return countryAliases.getOrDefault(key, key);
+	}
+
+	private List<City> toCities(int[] indexes, int k) {
+		List<City> result = new ArrayList<>(Math.min(k, indexes.length));
+		for (int i = 0; i < indexes.length && i < k; i++) result.add(dataset.toCity(indexes[i]));
+		return result;
+	}
+
+	private int lowerBound(String key) {
+		int lo = 0;
+		int hi = nameKeys.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (nameKeys[mid].compareTo(key) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	private static List<String> grams(String value) {
+		List<String> grams = new ArrayList<>();
+		for (int i = 0; i + GRAM <= value.length(); i++) grams.add(value.substring(i, i + GRAM));
+		return grams;
+	}
+
+	// 대소문자와 악센트를 구분하지 않음 (한글은 자모로 분해했다가 다시 합쳐서 그대로 유지)
+	public static String normalize(String value) {
+		if (value == null) return "";
+		String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+		String folded = DIACRITICS.matcher(decomposed).replaceAll("");
+		return Normalizer.normalize(folded, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+	}
+}
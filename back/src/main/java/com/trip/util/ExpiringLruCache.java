@@ -0,0 +1,62 @@
+package com.trip.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//크기 제한(LRU) + 유효시간(TTL)을 같이 적용하는 간단한 메모리 캐시
+//- 최대 개수를 넘으면 가장 오래 안 쓴 항목부터 제거
+//- 저장한 지 ttl이 지난 항목은 꺼낼 때 없는 것으로 취급하고 제거
+//여러 스레드에서 같이 쓰므로 모든 메소드를 synchronized로 보호함
+public class ExpiringLruCache<K, V> {
+
+	private final int maxSize;
+	private final long ttlMillis;
+	private final LinkedHashMap<K, Entry<V>> map;
+
+	public ExpiringLruCache(int maxSize, long ttlMillis) {
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		// accessOrder=true : get 할 때마다 맨 뒤로 이동 -> 맨 앞이 가장 오래 안 쓴 항목
+		this.map = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > ExpiringLruCache.this.maxSize;
+			}
+		};
+	}
+
+	// 없거나 만료되었으면 null
+	public synchronized V get(K key) {
+		Entry<V> entry = map.get(key);
+		if (entry == null) return null;
+		if (entry.expiresAt < System.currentTimeMillis()) {
+			map.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+	}
+
+	// 항목마다 유효시간이 다를 때 (기본 ttl보다 길게는 보관하지 않음)
+	public synchronized void put(K key, V value, long entryTtlMillis) {
+		map.put(key, new Entry<>(value, System.currentTimeMillis() + Math.min(entryTtlMillis, ttlMillis)));
+	}
+
+	public synchronized void remove(K key) {
+		map.remove(key);
+	}
+
+	public synchronized void clear() {
+		map.clear();
+	}
+
+	public synchronized int size() {
+		return map.size();
+	}
+
+	private record Entry<V>(V value, long expiresAt) {
+	}
+}
@@ -0,0 +1,26 @@
+package com.trip.util;
+
+import org.hibernate.SessionEventListener;
+
+//한 Hibernate 세션(트랜잭션)에서 DB로 보낸 요청 수 세기
+//일반 SQL 실행 한 번 = 1, JDBC 배치(INSERT 여러 행을 묶은 것) 실행 한 번 = 1
+//Session.addEventListeners(counter)로 붙여서 사용 (세션마다 새로 만들어야 함, 스레드 간 공유 X)
+public class JdbcRoundTripCounter implements SessionEventListener {
+
+	private int statements;
+	private int batches;
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		statements++;
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		batches++;
+	}
+
+	public int getRoundTrips() {
+		return statements + batches;
+	}
+}
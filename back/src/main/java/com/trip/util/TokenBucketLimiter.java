@@ -0,0 +1,115 @@
+package com.trip.util;
+
+import java.security.SecureRandom;
+
+//키(IP, 이메일 등)별 토큰 버킷 요청 제한기
+//- 버킷마다 burst개까지 토큰을 모아 두고, 초당 perSecond개씩 채움 -> 요청 하나에 토큰 하나
+//- 버킷은 객체가 아니라 고정 크기 배열의 칸(키 해시, 남은 토큰, 마지막 갱신 시각)으로 저장 -> 요청마다 객체를 만들지 않음
+//- 배열을 stripe 단위로 나누고 stripe마다 락을 따로 둠 -> 서로 다른 키는 거의 경합하지 않음
+//- 해시는 인스턴스마다 무작위 seed를 섞음 -> 밖에서 같은 stripe에 모이는 키를 미리 계산할 수 없음
+//- stripe 안에 빈 칸이 없으면
+//  1) 다시 가득 찬 버킷(충분히 쉰 키)이 있으면 그 칸을 새 키에 넘김 (지워도 결과가 같음)
+//  2) 없으면 가장 오래된 칸을 넘기되 남은 토큰은 그대로 이어받음
+//     -> 키를 바꿔 가며 칸을 밀어내도 비어 있던 버킷이 가득 찬 버킷으로 바뀌지 않음
+public class TokenBucketLimiter {
+
+	private static final int SLOTS_PER_STRIPE = 16;
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private final double burst;
+	private final double tokensPerNano;
+	private final int stripeMask;
+	private final long seed;
+	private final Object[] locks;
+	private final long[] keys;      // 0 = 빈 칸
+	private final double[] tokens;
+	private final long[] updatedAt; // System.nanoTime()
+
+	// slots: 동시에 추적할 키 수 (stripe 수는 2의 거듭제곱으로 맞춤)
+	public TokenBucketLimiter(int burst, double perSecond, int slots) {
+		this(burst, perSecond, slots, RANDOM.nextLong());
+	}
+
+	TokenBucketLimiter(int burst, double perSecond, int slots, long seed) {
+		if (burst <= 0 || perSecond <= 0) {
+			throw new IllegalArgumentException("burst와 perSecond는 0보다 커야 합니다.");
+		}
+		int stripes = Integer.highestOneBit(Math.max(1, slots / SLOTS_PER_STRIPE));
+		this.burst = burst;
+		this.tokensPerNano = perSecond / 1_000_000_000.0;
+		this.stripeMask = stripes - 1;
+		this.seed = seed;
+		this.locks = new Object[stripes];
+		for (int i = 0; i < stripes; i++) locks[i] = new Object();
+		this.keys = new long[stripes * SLOTS_PER_STRIPE];
+		this.tokens = new double[keys.length];
+		this.updatedAt = new long[keys.length];
+	}
+
+	// 토큰이 있으면 하나 쓰고 0, 없으면 다음 토큰까지 남은 시간(ns)
+	public long tryAcquire(String key) {
+		return tryAcquire(key, System.nanoTime());
+	}
+
+	long tryAcquire(String key, long now) {
+		long hash = hash(key);
+		int stripe = (int) (hash ^ (hash >>> 32)) & stripeMask;
+		int base = stripe * SLOTS_PER_STRIPE;
+		synchronized (locks[stripe]) {
+			int slot = -1;
+			int empty = -1;
+			int full = -1;
+			int oldest = -1;
+			for (int i = base; i < base + SLOTS_PER_STRIPE; i++) {
+				if (keys[i] == hash) {
+					slot = i;
+					break;
+				}
+				if (keys[i] == 0) {
+					if (empty < 0) empty = i;
+				} else {
+					if (full < 0 && refilled(i, now) >= burst) full = i;
+					if (oldest < 0 || updatedAt[i] - updatedAt[oldest] < 0) oldest = i;
+				}
+			}
+			double available;
+			if (slot >= 0) {
+				available = refilled(slot, now);
+			} else if (empty >= 0 || full >= 0) {
+				// 처음 보는 키 -> 빈 칸(또는 다시 가득 찬 칸)에 가득 찬 버킷으로 시작
+				slot = empty >= 0 ? empty : full;
+				available = burst;
+			} else {
+				// 모든 칸이 아직 쓰는 중 -> 가장 오래된 칸의 남은 토큰을 이어받음
+				slot = oldest;
+				available = refilled(slot, now);
+			}
+			keys[slot] = hash;
+			updatedAt[slot] = now;
+			if (available >= 1) {
+				tokens[slot] = available - 1;
+				return 0;
+			}
+			tokens[slot] = available;
+			return (long) Math.ceil((1 - available) / tokensPerNano);
+		}
+	}
+
+	// 마지막 갱신 이후 채워진 만큼 더한 토큰 수
+	private double refilled(int slot, long now) {
+		return Math.min(burst, tokens[slot] + (now - updatedAt[slot]) * tokensPerNano);
+	}
+
+	// seed를 섞은 64비트 FNV-1a + 마무리 섞기 (0은 빈 칸 표시로 쓰므로 피함)
+	private long hash(String key) {
+		long h = 0xcbf29ce484222325L ^ seed;
+		for (int i = 0; i < key.length(); i++) {
+			h ^= key.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return h == 0 ? 1 : h;
+	}
+}
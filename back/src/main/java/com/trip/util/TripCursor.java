@@ -0,0 +1,29 @@
+package com.trip.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+//여행 목록 페이지 이동용 커서 (마지막으로 받은 여행의 시작일 + id, 시작일이 없는 여행이면 id만)
+//다음 페이지는 "이 커서보다 뒤에 오는 여행"을 조회 -> OFFSET 없이 인덱스에서 바로 이어서 읽음
+//클라이언트에게는 내용을 알 수 없는 문자열로 전달 (base64url)
+public record TripCursor(LocalDate startDate, UUID id) {
+
+	public String encode() {
+		String raw = (startDate != null ? startDate.toString() : "") + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// 형식이 잘못된 커서는 IllegalArgumentException
+	public static TripCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int sep = raw.indexOf('|');
+			LocalDate date = sep > 0 ? LocalDate.parse(raw.substring(0, sep)) : null;
+			return new TripCursor(date, UUID.fromString(raw.substring(sep + 1)));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+		}
+	}
+}
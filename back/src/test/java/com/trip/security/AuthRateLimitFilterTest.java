@@ -0,0 +1,123 @@
+package com.trip.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+class AuthRateLimitFilterTest {
+
+	private static String findEmail(String body) {
+		return AuthRateLimitFilter.findEmail(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void readsTopLevelEmailTrimmedAndLowercased() {
+		assertEquals("user@example.com", findEmail("{\"email\":\"  User@Example.COM \",\"password\":\"pw\"}"));
+		assertEquals("이메일@예시.kr", findEmail("{\"password\":\"pw\",\"email\":\"이메일@예시.kr\"}"));
+	}
+
+	@Test
+	void ignoresEmailFieldsInsideNestedValues() {
+		// 중첩된 "email"로 최상위 email을 가려서 제한을 피할 수 없음
+		assertEquals("real@example.com",
+				findEmail("{\"profile\":{\"email\":\"decoy@example.com\"},\"email\":\"real@example.com\"}"));
+		assertEquals("real@example.com",
+				findEmail("{\"email\":\"real@example.com\",\"tags\":[{\"email\":\"decoy@example.com\"}]}"));
+	}
+
+	@Test
+	void lastTopLevelEmailWinsLikeJackson() {
+		assertEquals("second@example.com",
+				findEmail("{\"email\":\"first@example.com\",\"email\":\"second@example.com\"}"));
+	}
+
+	@Test
+	void scalarValuesAreReadAsText() {
+		assertEquals("12345", findEmail("{\"email\":12345}"));
+		assertEquals("true", findEmail("{\"email\":true}"));
+	}
+
+	@Test
+	void returnsNullWhenThereIsNoUsableEmail() {
+		assertNull(findEmail("{\"password\":\"pw\"}"));
+		assertNull(findEmail("{\"email\":null}"));
+		assertNull(findEmail("{\"email\":\"   \"}"));
+		assertNull(findEmail("{\"email\":{\"value\":\"a@example.com\"}}"));
+		assertNull(findEmail("{\"email\":[\"a@example.com\"]}"));
+		assertNull(findEmail("[{\"email\":\"a@example.com\"}]"));
+		assertNull(findEmail("{\"email\":\"a@example.com\""));
+		assertNull(findEmail("not json"));
+		assertNull(findEmail(""));
+	}
+
+	// 비동기로 읽는 쪽: 읽기 가능 -> 다 읽음 순서로 호출되고 본문을 모두 받아야 함
+	@Test
+	void cachedBodyNotifiesReadListener() {
+		byte[] body = "{\"email\":\"a@example.com\"}".getBytes(StandardCharsets.UTF_8);
+		ServletInputStream in = new AuthRateLimitFilter.CachedBodyRequest(new MockHttpServletRequest(), body)
+				.getInputStream();
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		List<String> events = new ArrayList<>();
+		in.setReadListener(new ReadListener() {
+			@Override
+			public void onDataAvailable() throws IOException {
+				events.add("data");
+				byte[] buffer = new byte[8];
+				while (in.isReady() && !in.isFinished()) {
+					int n = in.read(buffer);
+					if (n > 0) read.write(buffer, 0, n);
+				}
+			}
+
+			@Override
+			public void onAllDataRead() {
+				events.add("done");
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				events.add("error");
+			}
+		});
+		assertEquals(List.of("data", "done"), events);
+		assertEquals(new String(body, StandardCharsets.UTF_8), read.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void cachedBodyReportsListenerFailureAsError() {
+		ServletInputStream in = new AuthRateLimitFilter.CachedBodyRequest(new MockHttpServletRequest(),
+				"{}".getBytes(StandardCharsets.UTF_8)).getInputStream();
+		IOException failure = new IOException("boom");
+		List<Throwable> errors = new ArrayList<>();
+		in.setReadListener(new ReadListener() {
+			@Override
+			public void onDataAvailable() throws IOException {
+				throw failure;
+			}
+
+			@Override
+			public void onAllDataRead() {
+				errors.add(null);
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				errors.add(t);
+			}
+		});
+		assertEquals(1, errors.size());
+		assertSame(failure, errors.get(0));
+	}
+}
@@ -0,0 +1,84 @@
+package com.trip.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.trip.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtAuthenticationFilterTest {
+
+	private static final long HOUR = 3_600_000L;
+
+	private final JwtUtil jwtUtil = new JwtUtil("test-secret", HOUR, 24 * HOUR, 100, HOUR);
+	private final TokenRevocationStore revocationStore = new RevokedTokenTable().newStore();
+	// 토큰 claim으로 출입증을 만들 수 있으므로 DB(userDetailsService)는 쓰이지 않음
+	private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil,
+			mock(CustomUserDetailsService.class),
+			new UserPrincipalCache(null, 100, HOUR, HOUR, new SimpleMeterRegistry()), revocationStore);
+	private final User user = new User();
+
+	JwtAuthenticationFilterTest() {
+		user.setId(UUID.randomUUID());
+		user.setEmail("user@example.com");
+		user.setName("사용자");
+		user.setRole("ROLE_USER");
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	// Authorization: Bearer <token> 으로 요청을 보내고 인증 결과를 반환
+	private Authentication authenticate(String token) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/trips/my");
+		request.addHeader("Authorization", "Bearer " + token);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	@Test
+	void acceptsAccessToken() throws Exception {
+		Authentication authentication = authenticate(jwtUtil.generateToken(user, "family"));
+
+		assertNotNull(authentication);
+		assertEquals(user.getId(), ((CustomUserDetails) authentication.getPrincipal()).getId());
+	}
+
+	@Test
+	void rejectsRefreshTokenUsedAsAccessToken() throws Exception {
+		assertNull(authenticate(jwtUtil.generateRefreshToken(user, "family")));
+	}
+
+	@Test
+	void rejectsAccessTokenOfLoggedOutSession() throws Exception {
+		String access = jwtUtil.generateToken(user, "family");
+		revocationStore.revokeFamily("family", new Date(System.currentTimeMillis() + HOUR));
+
+		assertNull(authenticate(access));
+		assertNotNull(authenticate(jwtUtil.generateToken(user, "other")));
+	}
+
+	@Test
+	void rejectsForgedToken() throws Exception {
+		JwtUtil otherServer = new JwtUtil("other-secret", HOUR, 24 * HOUR, 100, HOUR);
+		assertNull(authenticate(otherServer.generateToken(user, "family")));
+		assertNull(authenticate("not-a-token"));
+	}
+}
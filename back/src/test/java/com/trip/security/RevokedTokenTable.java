@@ -0,0 +1,56 @@
+package com.trip.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.trip.entity.RevokedToken;
+import com.trip.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+//테스트용 revoked_tokens 테이블 (여러 TokenRevocationStore가 같은 DB를 쓰는 것처럼 공유)
+//insertIfAbsent는 INSERT IGNORE처럼 이미 있는 id면 0을 반환
+public final class RevokedTokenTable {
+
+	private final List<RevokedToken> rows = new ArrayList<>();
+	private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+
+	public RevokedTokenTable() {
+		when(repository.insertIfAbsent(anyString(), anyString(), any(), any())).thenAnswer(inv -> {
+			String id = inv.getArgument(0);
+			if (rows.stream().anyMatch(row -> row.getTokenId().equals(id))) return 0;
+			RevokedToken row = new RevokedToken();
+			row.setTokenId(id);
+			row.setKind(inv.getArgument(1));
+			row.setExpiresAt(inv.getArgument(2));
+			row.setRevokedAt(inv.getArgument(3));
+			rows.add(row);
+			return 1;
+		});
+		when(repository.findByExpiresAtAfter(any())).thenAnswer(inv -> {
+			Timestamp now = inv.getArgument(0);
+			return rows.stream().filter(row -> row.getExpiresAt().after(now)).toList();
+		});
+		when(repository.findByRevokedAtGreaterThanEqual(any())).thenAnswer(inv -> {
+			Timestamp since = inv.getArgument(0);
+			return rows.stream().filter(row -> !row.getRevokedAt().before(since)).toList();
+		});
+	}
+
+	List<RevokedToken> rows() {
+		return rows;
+	}
+
+	// 서버 한 대의 폐기 목록 (시작할 때처럼 테이블에서 읽어서 채움)
+	public TokenRevocationStore newStore() {
+		TokenRevocationStore store = new TokenRevocationStore(repository, new SimpleMeterRegistry());
+		store.load();
+		return store;
+	}
+}
@@ -0,0 +1,89 @@
+package com.trip.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.trip.entity.RevokedToken;
+import com.trip.entity.User;
+
+class TokenRevocationStoreTest {
+
+	private static final long HOUR = 3_600_000L;
+
+	private final JwtUtil jwtUtil = new JwtUtil("test-secret", HOUR, 24 * HOUR, 100, HOUR);
+
+	private static User user() {
+		User user = new User();
+		user.setId(UUID.randomUUID());
+		user.setEmail("user@example.com");
+		user.setName("사용자");
+		user.setRole("ROLE_USER");
+		return user;
+	}
+
+	private static Date later() {
+		return new Date(System.currentTimeMillis() + HOUR);
+	}
+
+	@Test
+	void revokingSameTokenTwiceReportsReuse() {
+		RevokedTokenTable table = new RevokedTokenTable();
+		TokenRevocationStore store = table.newStore();
+		DecodedJWT refresh = jwtUtil.verify(jwtUtil.generateRefreshToken(user(), "family"));
+
+		assertFalse(store.isTokenRevoked(refresh));
+		assertTrue(store.revokeToken(refresh.getId(), refresh.getExpiresAt()));
+		assertTrue(store.isTokenRevoked(refresh));
+		assertFalse(store.revokeToken(refresh.getId(), refresh.getExpiresAt()));
+		assertEquals(RevokedToken.KIND_TOKEN, table.rows().get(0).getKind());
+	}
+
+	@Test
+	void revokingFamilyRejectsEveryTokenOfThatSession() {
+		TokenRevocationStore store = new RevokedTokenTable().newStore();
+		User user = user();
+		DecodedJWT access = jwtUtil.verify(jwtUtil.generateToken(user, "family"));
+		DecodedJWT refresh = jwtUtil.verify(jwtUtil.generateRefreshToken(user, "family"));
+		DecodedJWT otherSession = jwtUtil.verify(jwtUtil.generateToken(user, "other"));
+
+		store.revokeFamily("family", later());
+
+		assertTrue(store.isRevoked(access));
+		assertTrue(store.isRevoked(refresh));
+		assertFalse(store.isTokenRevoked(refresh)); // 토큰 자체는 쓰인 적 없음 (재사용이 아니라 로그아웃)
+		assertFalse(store.isRevoked(otherSession));
+	}
+
+	@Test
+	void expiredEntriesNoLongerCount() {
+		TokenRevocationStore store = new RevokedTokenTable().newStore();
+		DecodedJWT access = jwtUtil.verify(jwtUtil.generateToken(user(), "family"));
+
+		store.revokeFamily("family", new Date(System.currentTimeMillis() - 1));
+
+		assertFalse(store.isRevoked(access));
+	}
+
+	// 다른 서버에서 폐기한 세션은 시작할 때(load) 또는 주기적인 sync로 가져옴
+	@Test
+	void picksUpRevocationsFromOtherServers() {
+		RevokedTokenTable table = new RevokedTokenTable();
+		TokenRevocationStore serverA = table.newStore();
+		TokenRevocationStore serverB = table.newStore();
+		DecodedJWT access = jwtUtil.verify(jwtUtil.generateToken(user(), "family"));
+
+		serverA.revokeFamily("family", later());
+		assertFalse(serverB.isRevoked(access));
+
+		serverB.sync();
+		assertTrue(serverB.isRevoked(access));
+		assertTrue(table.newStore().isRevoked(access));
+	}
+}
@@ -0,0 +1,118 @@
+package com.trip.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.trip.dto.AuthDto;
+import com.trip.entity.User;
+import com.trip.repository.UserRepository;
+import com.trip.security.JwtUtil;
+import com.trip.security.TokenRevocationStore;
+import com.trip.security.RevokedTokenTable;
+
+class AuthServiceTest {
+
+	private static final long HOUR = 3_600_000L;
+
+	private final JwtUtil jwtUtil = new JwtUtil("test-secret", HOUR, 24 * HOUR, 100, HOUR);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final User user = new User();
+	private TokenRevocationStore revocationStore;
+	private AuthService authService;
+
+	@BeforeEach
+	void setUp() {
+		user.setId(UUID.randomUUID());
+		user.setEmail("user@example.com");
+		user.setName("사용자");
+		user.setRole("ROLE_USER");
+		when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+		revocationStore = new RevokedTokenTable().newStore();
+		// refresh/logout은 비밀번호 해시를 쓰지 않음
+		authService = new AuthService(userRepository, null, jwtUtil, revocationStore);
+	}
+
+	private static AuthDto.RefreshRequest request(String refreshToken) {
+		AuthDto.RefreshRequest request = new AuthDto.RefreshRequest();
+		request.setRefreshToken(refreshToken);
+		return request;
+	}
+
+	private String family(String token) {
+		return jwtUtil.getFamily(jwtUtil.verify(token));
+	}
+
+	@Test
+	void refreshRotatesTokenWithinSameSession() {
+		String refreshToken = jwtUtil.generateRefreshToken(user, "family");
+
+		AuthDto.UserResponse response = authService.refresh(request(refreshToken));
+
+		assertNotEquals(refreshToken, response.getRefreshToken());
+		assertEquals("family", family(response.getToken()));
+		assertEquals("family", family(response.getRefreshToken()));
+		assertFalse(jwtUtil.isRefreshToken(jwtUtil.verify(response.getToken())));
+		// 쓴 토큰은 폐기, 새 토큰은 그대로 사용 가능
+		assertTrue(revocationStore.isTokenRevoked(jwtUtil.verify(refreshToken)));
+		assertFalse(revocationStore.isRevoked(jwtUtil.verify(response.getRefreshToken())));
+		authService.refresh(request(response.getRefreshToken()));
+	}
+
+	// 이미 쓴 refresh 토큰이 다시 오면 탈취로 보고 세션 전체(새로 받은 토큰 포함)를 폐기
+	@Test
+	void reusedRefreshTokenRevokesWholeSession() {
+		String stolen = jwtUtil.generateRefreshToken(user, "family");
+		AuthDto.UserResponse rotated = authService.refresh(request(stolen));
+
+		assertThrows(IllegalArgumentException.class, () -> authService.refresh(request(stolen)));
+
+		assertTrue(revocationStore.isRevoked(jwtUtil.verify(rotated.getToken())));
+		assertTrue(revocationStore.isRevoked(jwtUtil.verify(rotated.getRefreshToken())));
+		assertThrows(IllegalArgumentException.class, () -> authService.refresh(request(rotated.getRefreshToken())));
+	}
+
+	@Test
+	void logoutRevokesSessionButNotOtherLogins() {
+		String access = jwtUtil.generateToken(user, "family");
+		String refreshToken = jwtUtil.generateRefreshToken(user, "family");
+		String otherDevice = jwtUtil.generateRefreshToken(user, "other");
+
+		authService.logout(request(refreshToken));
+
+		assertTrue(revocationStore.isRevoked(jwtUtil.verify(access)));
+		assertThrows(IllegalArgumentException.class, () -> authService.refresh(request(refreshToken)));
+		authService.refresh(request(otherDevice));
+	}
+
+	@Test
+	void accessTokenCannotBeUsedToRefreshOrLogout() {
+		String access = jwtUtil.generateToken(user, "family");
+
+		assertThrows(IllegalArgumentException.class, () -> authService.refresh(request(access)));
+		authService.logout(request(access)); // 아무것도 하지 않음
+		assertFalse(revocationStore.isRevoked(jwtUtil.verify(access)));
+		assertThrows(IllegalArgumentException.class, () -> authService.refresh(request("not-a-token")));
+	}
+
+	@Test
+	void refreshFailsForDeletedUser() {
+		String refreshToken = jwtUtil.generateRefreshToken(user, "family");
+		when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.empty());
+
+		assertThrows(IllegalArgumentException.class, () -> authService.refresh(request(refreshToken)));
+		DecodedJWT used = jwtUtil.verify(refreshToken);
+		assertTrue(revocationStore.isTokenRevoked(used));
+	}
+}
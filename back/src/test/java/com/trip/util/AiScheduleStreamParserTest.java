@@ -0,0 +1,105 @@
+package com.trip.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.trip.dto.AiDto;
+
+class AiScheduleStreamParserTest {
+
+	// 스프링 부트 기본 설정과 같게 (모르는 필드는 무시)
+	private static final ObjectMapper MAPPER = JsonMapper.builder()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.build();
+
+	private static final String DAY1 = "{\"day\":1,\"activities\":[{\"time\":\"09:00\",\"activity\":\"공항 도착\",\"category\":\"plane\"},"
+			+ "{\"time\":\"12:00\",\"activity\":\"점심\",\"category\":\"food\"}]}";
+	private static final String DAY2 = "{\"day\":2,\"activities\":[{\"time\":\"10:00\",\"activity\":\"박물관\",\"category\":\"culture\"}]}";
+	private static final String FULL = "{\"schedule\":[" + DAY1 + "," + DAY2 + "]}";
+
+	private static List<Integer> days(AiDto.AiScheduleResult result) {
+		return result.getSchedule().stream().map(AiDto.AiDailyPlan::getDay).toList();
+	}
+
+	@Test
+	void parsesCompleteResponseWithSurroundingNoise() throws IOException {
+		AiDto.AiScheduleResult result = AiScheduleStreamParser.parse(MAPPER,
+				"다음은 일정입니다.\n```json\n" + FULL + "\n```\n즐거운 여행 되세요!");
+		assertEquals(List.of(1, 2), days(result));
+		assertEquals(2, result.getSchedule().get(0).getActivities().size());
+		assertEquals("박물관", result.getSchedule().get(1).getActivities().get(0).getActivity());
+	}
+
+	@Test
+	void emitsEachDayAsSoonAsItClosesWhenFedInPieces() throws IOException {
+		List<Integer> emitted = new ArrayList<>();
+		AiScheduleStreamParser parser = new AiScheduleStreamParser(MAPPER, plan -> emitted.add(plan.getDay()));
+		int dayOneEnd = FULL.indexOf(DAY1) + DAY1.length();
+		// 글자 단위로 나눠 넣어도(멀티바이트 한글 포함) 하루치가 닫히는 순간 바로 나옴
+		for (int i = 0; i < FULL.length(); i++) {
+			parser.feed(FULL.substring(i, i + 1));
+			if (i == dayOneEnd - 1) assertEquals(List.of(1), emitted);
+		}
+		parser.end();
+		assertEquals(List.of(1, 2), emitted);
+		assertFalse(parser.isTruncated());
+	}
+
+	@Test
+	void truncatedStreamKeepsCompleteDaysAndReportsCutOffDay() throws IOException {
+		// 2일차 첫 활동은 완성됐지만 2일차 객체는 닫히지 않은 채로 끊김
+		String cut = "{\"schedule\":[" + DAY1 + ",{\"day\":2,\"activities\":[{\"time\":\"10:00\",\"activity\":\"박물관\"},{\"time\":\"13:";
+		List<AiDto.AiDailyPlan> emitted = new ArrayList<>();
+		AiScheduleStreamParser parser = new AiScheduleStreamParser(MAPPER, emitted::add);
+		parser.feed(cut);
+		parser.end();
+
+		assertTrue(parser.isTruncated());
+		assertEquals(1, parser.getDayCount());
+		assertEquals(List.of(1), emitted.stream().map(AiDto.AiDailyPlan::getDay).toList());
+		// 잘린 2일차는 넘기지 않고 기록만 함 -> 호출하는 쪽에서 다시 생성
+		assertEquals(Set.of(2), parser.getPartialDays());
+	}
+
+	@Test
+	void syntaxErrorStopsParsingButKeepsEarlierDays() throws IOException {
+		AiScheduleStreamParser parser = new AiScheduleStreamParser(MAPPER, plan -> {});
+		parser.feed("{\"schedule\":[" + DAY1 + ",{\"day\":2,\"activities\":[{\"time\":\"10:00\"}}} oops");
+		parser.end();
+		assertTrue(parser.isTruncated());
+		assertEquals(1, parser.getDayCount());
+	}
+
+	@Test
+	void toleratesCommentsTrailingCommasAndStringDayNumbers() throws IOException {
+		AiDto.AiScheduleResult result = AiScheduleStreamParser.parse(MAPPER,
+				"{\"schedule\":[ // 첫째 날\n{\"day\":\"Day 1\",\"activities\":[{\"activity\":\"산책\"},]},]}");
+		assertEquals(List.of(1), days(result));
+	}
+
+	@Test
+	void skipsEmptyAndDuplicateDays() throws IOException {
+		AiDto.AiScheduleResult result = AiScheduleStreamParser.parse(MAPPER,
+				"{\"schedule\":[" + DAY1 + ",{\"day\":2,\"activities\":[]},"
+						+ "{\"day\":1,\"activities\":[{\"activity\":\"중복\"}]}," + DAY2 + "]}");
+		assertEquals(List.of(1, 2), days(result));
+		assertEquals(2, result.getSchedule().get(0).getActivities().size());
+	}
+
+	@Test
+	void missingOrEmptyContentYieldsNoDays() throws IOException {
+		assertTrue(AiScheduleStreamParser.parse(MAPPER, null).getSchedule().isEmpty());
+		assertTrue(AiScheduleStreamParser.parse(MAPPER, "죄송합니다. 일정을 만들 수 없습니다.").getSchedule().isEmpty());
+	}
+}
@@ -0,0 +1,125 @@
+package com.trip.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.trip.entity.City;
+
+class CityKdTreeTest {
+
+	private static final double EPSILON_KM = 1e-6;
+
+	// 무작위 도시 + 날짜 변경선/극지방 근처 도시 + 좌표 없는 도시
+	private static List<City> cities(int count, long seed) {
+		Random random = new Random(seed);
+		List<City> cities = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			double lat = random.nextDouble() * 180 - 90;
+			double lng = random.nextDouble() * 360 - 180;
+			cities.add(city(i + 1, lat, lng));
+		}
+		cities.add(city(count + 1, 10, 179.9));
+		cities.add(city(count + 2, 10, -179.9));
+		cities.add(city(count + 3, 89.9, 0));
+		cities.add(city(count + 4, 89.9, 180));
+		cities.add(new City((long) count + 5, "nowhere", null, null, "none", null));
+		return cities;
+	}
+
+	private static City city(long id, double lat, double lng) {
+		return new City(id, "city" + id, BigDecimal.valueOf(lat), BigDecimal.valueOf(lng), "country", 1000L);
+	}
+
+	private static CityKdTree tree(List<City> cities) {
+		return new CityKdTree(CityDataset.fromCities(cities, cities.size(), null, null));
+	}
+
+	// 모든 도시와의 거리를 직접 계산해서 가까운 순으로 정렬
+	private static List<Double> bruteForce(List<City> cities, double lat, double lng, double radiusKm) {
+		List<Double> distances = new ArrayList<>();
+		for (City city : cities) {
+			if (city.getLat() == null || city.getLng() == null) continue;
+			double d = CityKdTree.distanceKm(lat, lng, city.getLat().doubleValue(), city.getLng().doubleValue());
+			if (d <= radiusKm) distances.add(d);
+		}
+		distances.sort(Comparator.naturalOrder());
+		return distances;
+	}
+
+	private static void assertSameDistances(List<Double> expected, List<CityKdTree.Hit> hits) {
+		assertEquals(expected.size(), hits.size());
+		for (int i = 0; i < hits.size(); i++) {
+			assertEquals(expected.get(i), hits.get(i).distanceKm(), EPSILON_KM);
+		}
+	}
+
+	@Test
+	void nearestMatchesBruteForce() {
+		List<City> cities = cities(2000, 1);
+		CityKdTree tree = tree(cities);
+		Random random = new Random(2);
+		for (int i = 0; i < 200; i++) {
+			double lat = random.nextDouble() * 180 - 90;
+			double lng = random.nextDouble() * 360 - 180;
+			int n = 1 + random.nextInt(20);
+			List<Double> expected = bruteForce(cities, lat, lng, Double.POSITIVE_INFINITY);
+			assertSameDistances(expected.subList(0, n), tree.nearest(lat, lng, n));
+		}
+	}
+
+	@Test
+	void withinMatchesBruteForce() {
+		List<City> cities = cities(2000, 3);
+		CityKdTree tree = tree(cities);
+		Random random = new Random(4);
+		for (int i = 0; i < 200; i++) {
+			double lat = random.nextDouble() * 180 - 90;
+			double lng = random.nextDouble() * 360 - 180;
+			double radiusKm = random.nextDouble() * 1500;
+			List<Double> expected = bruteForce(cities, lat, lng, radiusKm);
+			List<CityKdTree.Hit> hits = tree.within(lat, lng, radiusKm, Integer.MAX_VALUE);
+			assertSameDistances(expected, hits);
+			// limit이 있으면 가까운 순으로 앞에서부터 자름
+			int limit = 3;
+			assertSameDistances(expected.subList(0, Math.min(limit, expected.size())), tree.within(lat, lng, radiusKm, limit));
+		}
+	}
+
+	@Test
+	void findsNeighborAcrossDateLineAndPole() {
+		List<City> cities = cities(0, 5);
+		CityKdTree tree = tree(cities);
+
+		List<CityKdTree.Hit> dateLine = tree.nearest(10, 179.95, 2);
+		assertEquals(2, dateLine.size());
+		assertTrue(dateLine.get(1).distanceKm() < 20, "경도 ±180 양쪽 도시가 모두 가까워야 함");
+
+		List<CityKdTree.Hit> pole = tree.nearest(90, 90, 2);
+		assertTrue(pole.get(1).distanceKm() < 20, "극점에서는 경도와 상관없이 가까워야 함");
+	}
+
+	@Test
+	void skipsCitiesWithoutLocation() {
+		List<City> cities = cities(10, 6);
+		CityKdTree tree = tree(cities);
+		assertEquals(cities.size() - 1, tree.size());
+		assertEquals(cities.size() - 1, tree.nearest(0, 0, 100).size());
+	}
+
+	@Test
+	void emptyResultsForInvalidArguments() {
+		CityKdTree tree = tree(cities(10, 7));
+		assertTrue(tree.nearest(0, 0, 0).isEmpty());
+		assertTrue(tree.within(0, 0, -1, 10).isEmpty());
+		assertTrue(tree.within(0, 0, 100, 0).isEmpty());
+		assertTrue(tree(List.of()).nearest(0, 0, 5).isEmpty());
+	}
+}
@@ -0,0 +1,88 @@
+package com.trip.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.trip.entity.City;
+
+class CitySearchEngineTest {
+
+	private static final List<City> CITIES = List.of(
+			city(1, "Paris", "France", 2_100_000L),
+			city(2, "Paris", "United States", 25_000L),
+			city(3, "Parma", "Italy", 195_000L),
+			city(4, "Pariaman", "Indonesia", 90_000L),
+			city(5, "Tokyo", "Japan", 37_000_000L),
+			city(6, "Kyoto", "Japan", 1_460_000L),
+			city(7, "Zürich", "Switzerland", 420_000L),
+			city(8, "Barcelona", "Spain", 1_600_000L),
+			city(9, "Seoul", "South Korea", 9_700_000L));
+
+	private static City city(long id, String name, String country, long population) {
+		return new City(id, name, BigDecimal.ZERO, BigDecimal.ZERO, country, population);
+	}
+
+	private static CitySearchEngine engine() {
+		return new CitySearchEngine(CityDataset.fromCities(CITIES, CITIES.size(), null, null),
+				Map.of("Seoul", List.of("서울"), "Tokyo", List.of("도쿄")),
+				Map.of("일본", "Japan", "미국", "United States"), 10, 2);
+	}
+
+	private static List<String> names(List<City> cities) {
+		return cities.stream().map(c -> c.getCity() + "/" + c.getCountry()).toList();
+	}
+
+	@Test
+	void exactMatchRanksAbovePrefixAndPopulationBreaksTies() {
+		List<String> result = names(engine().search("paris", null, 10));
+		// 정확히 같은 이름 두 개(인구 많은 순) -> 접두어 일치
+		assertEquals(List.of("Paris/France", "Paris/United States", "Pariaman/Indonesia"), result.subList(0, 3));
+	}
+
+	@Test
+	void shortPrefixUsesPrecomputedRanking() {
+		CitySearchEngine engine = engine();
+		List<String> result = names(engine.search("pa", null, 10));
+		assertEquals("Paris/France", result.get(0));
+		assertTrue(result.containsAll(List.of("Parma/Italy", "Pariaman/Indonesia", "Paris/United States")));
+		assertEquals(2, engine.search("pa", null, 2).size());
+	}
+
+	@Test
+	void toleratesTyposAndTranspositions() {
+		CitySearchEngine engine = engine();
+		assertEquals("Barcelona/Spain", names(engine.search("barcleona", null, 5)).get(0)); // 인접 글자 뒤바뀜
+		assertEquals("Barcelona/Spain", names(engine.search("barselona", null, 5)).get(0)); // 교체
+		assertEquals("Tokyo/Japan", names(engine.search("tokio", null, 5)).get(0));
+		assertTrue(engine.search("xqzvw", null, 5).isEmpty());
+	}
+
+	@Test
+	void ignoresCaseAndAccents() {
+		CitySearchEngine engine = engine();
+		assertEquals("Zürich/Switzerland", names(engine.search("ZURICH", null, 5)).get(0));
+		assertEquals("zurich", CitySearchEngine.normalize(" Zürich "));
+		assertEquals("서울", CitySearchEngine.normalize("서울"));
+	}
+
+	@Test
+	void findsKoreanAliasesAndFiltersByCountryAlias() {
+		CitySearchEngine engine = engine();
+		assertEquals(List.of("Seoul/South Korea"), names(engine.search("서울", null, 5)));
+		assertEquals(List.of("Tokyo/Japan"), names(engine.search("도쿄", null, 5)));
+		assertEquals(List.of("Paris/United States"), names(engine.search("paris", "미국", 5)));
+		// 접두어 일치(Kyoto)가 포함 일치(Tokyo)보다 앞, 다른 나라 도시는 제외
+		assertEquals(List.of("Kyoto/Japan", "Tokyo/Japan"), names(engine.search("kyo", "일본", 5)));
+	}
+
+	@Test
+	void emptyQueryReturnsNothing() {
+		assertTrue(engine().search("  ", null, 5).isEmpty());
+	}
+}
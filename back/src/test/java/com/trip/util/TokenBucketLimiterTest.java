@@ -0,0 +1,75 @@
+package com.trip.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void allowsBurstThenReportsWaitUntilNextToken() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 64, 42);
+		for (int i = 0; i < 3; i++) assertEquals(0, limiter.tryAcquire("1.2.3.4", 0));
+		assertEquals(SECOND, limiter.tryAcquire("1.2.3.4", 0));
+		// 0.5초 뒤에는 반 개가 채워져 있으므로 0.5초만 더 기다리면 됨
+		assertEquals(SECOND / 2, limiter.tryAcquire("1.2.3.4", SECOND / 2));
+		assertEquals(0, limiter.tryAcquire("1.2.3.4", SECOND));
+	}
+
+	@Test
+	void refillIsCappedAtBurst() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 64, 42);
+		limiter.tryAcquire("key", 0);
+		long later = 100 * SECOND;
+		assertEquals(0, limiter.tryAcquire("key", later));
+		assertEquals(0, limiter.tryAcquire("key", later));
+		assertTrue(limiter.tryAcquire("key", later) > 0);
+	}
+
+	@Test
+	void keysHaveSeparateBuckets() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 64, 42);
+		assertEquals(0, limiter.tryAcquire("a@example.com", 0));
+		assertTrue(limiter.tryAcquire("a@example.com", 0) > 0);
+		assertEquals(0, limiter.tryAcquire("b@example.com", 0));
+	}
+
+	@Test
+	void evictingWithNewKeysDoesNotRefillExhaustedBucket() {
+		// slots=16 -> stripe 하나(16칸)
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 16, 42);
+		limiter.tryAcquire("victim", 0);
+		limiter.tryAcquire("victim", 0);
+		assertTrue(limiter.tryAcquire("victim", 0) > 0);
+
+		// 나머지 15칸을 아직 쓰는 중인 버킷으로 채움
+		for (int i = 1; i <= 15; i++) assertEquals(0, limiter.tryAcquire("filler-" + i, i));
+
+		// 빈 칸도, 다시 가득 찬 칸도 없음 -> 가장 오래된(비어 있는) 칸을 넘겨받으므로 새 키도 바로 거절
+		assertTrue(limiter.tryAcquire("attacker", 16) > 0);
+	}
+
+	@Test
+	void fullyRefilledSlotIsReusedAsFreshBucket() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 16, 42);
+		for (int i = 0; i < 16; i++) {
+			limiter.tryAcquire("old-" + i, 0);
+			limiter.tryAcquire("old-" + i, 0);
+		}
+		// 충분히 쉰 뒤에는 모든 칸이 다시 가득 참 -> 새 키는 burst만큼 사용 가능
+		long later = 10 * SECOND;
+		assertEquals(0, limiter.tryAcquire("new", later));
+		assertEquals(0, limiter.tryAcquire("new", later));
+		assertTrue(limiter.tryAcquire("new", later) > 0);
+	}
+
+	@Test
+	void rejectsInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 1, 16));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 0, 16));
+	}
+}
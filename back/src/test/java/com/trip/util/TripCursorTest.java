@@ -0,0 +1,58 @@
+package com.trip.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TripCursorTest {
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void roundTripsDateAndId() {
+		TripCursor cursor = new TripCursor(LocalDate.of(2025, 12, 24), UUID.randomUUID());
+		assertEquals(cursor, TripCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void roundTripsCursorWithoutDate() {
+		// 시작일이 없는 여행 구간의 커서
+		TripCursor cursor = new TripCursor(null, UUID.randomUUID());
+		TripCursor decoded = TripCursor.decode(cursor.encode());
+		assertNull(decoded.startDate());
+		assertEquals(cursor.id(), decoded.id());
+	}
+
+	@Test
+	void encodedCursorIsUrlSafe() {
+		for (int i = 0; i < 100; i++) {
+			String encoded = new TripCursor(LocalDate.of(2025, 1, 1).plusDays(i), UUID.randomUUID()).encode();
+			assertFalse(encoded.matches(".*[+/=].*"), encoded);
+		}
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		String[] malformed = {
+				"",
+				"!!!not-base64!!!",
+				encodeRaw("no separator"),
+				encodeRaw("2025-12-24|not-a-uuid"),
+				encodeRaw("2025-13-40|" + UUID.randomUUID()),
+				encodeRaw("yesterday|" + UUID.randomUUID()),
+		};
+		for (String cursor : malformed) {
+			assertThrows(IllegalArgumentException.class, () -> TripCursor.decode(cursor), cursor);
+		}
+	}
+}
@@ -25,9 +25,10 @@ export default function LoginPage() {
       //로그인 모드
       if(isLoginMode){ 
         const resp = await apiClient.post('/api/auth/login', {email, password}); //요청 본문에 사용자가 입력한 email과 password를 JSON 객체 형태로 담아 보냄
-        const { token } = resp.data; //응답 데이터에서(백) 토큰 추출
+        const { token, refreshToken } = resp.data; //응답 데이터에서(백) 토큰 추출
         if(token){ //토큰이 존재하면
           localStorage.setItem('accessToken', token); //local storage에 저장
+          if (refreshToken) localStorage.setItem('refreshToken', refreshToken); //access 토큰 만료 시 재발급용
           alert('로그인 성공! 환영합니다.');
           router.push('/'); //메인 페이지로 이동
           router.refresh(); //서버 컴포넌트 데이터 새로고침
@@ -40,9 +41,10 @@ export default function LoginPage() {
         alert('회원가입 성공! 자동으로 로그인됩니다.');
         //회원가입 후 자동 로그인 처리
         const loginResp = await apiClient.post('/api/auth/login', {email, password});
-        const { token } = loginResp.data;
+        const { token, refreshToken } = loginResp.data;
         if(token){
           localStorage.setItem('accessToken', token);
+          if (refreshToken) localStorage.setItem('refreshToken', refreshToken);
           router.push('/'); //메인 페이지로 이동
           router.refresh();
         } else {
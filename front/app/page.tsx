@@ -7,7 +7,7 @@ import TripListCard from '@/components/TripListCard';
 import { Plus, LogOut } from 'lucide-react';
 
 // API 클라이언트
-import apiClient from '@/lib/api'; 
+import apiClient, { logout } from '@/lib/api'; 
 import { TripForList } from '@/types/db';
 // 타입 정의
 // '/api/users/me' API가 반환하는 사용자 정보 타입
@@ -22,6 +22,8 @@ export default function HomePage() {
   const [loading, setLoading] = useState(true);           //로딩 중 상태 스위치
   const [isModalOpen, setIsModalOpen] = useState(false);  //모달 열림 상태 스위치
   const [user, setUser] = useState<User | null>(null);    //로그인한 사용자 정보
+  const [nextCursor, setNextCursor] = useState<string | null>(null); //다음 페이지 커서 (없으면 마지막 페이지)
+  const [loadingMore, setLoadingMore] = useState(false);  //더 보기 로딩 상태
   const router = useRouter(); 
 
   // 초기화 로직
@@ -43,12 +45,13 @@ export default function HomePage() {
 
         const tripsResponse = await apiClient.get('/api/trips/my');
         setTrips(tripsResponse.data);
+        setNextCursor(tripsResponse.headers['x-next-cursor'] ?? null);
 
       } catch (error: any) {
         // 401(인증안됨), 403(권한없음)은 예상된 에러
         if (error.response && (error.response.status === 401 || error.response.status === 403)) {
-          // 조용히 토큰 삭제하고 이동
-          localStorage.removeItem('accessToken');
+          // 조용히 세션 폐기 + 토큰 삭제하고 이동
+          await logout();
           router.push('/login');
         } else {
           // 예상치 못한 에러(서버 다운 등)만 콘솔에 찍기
@@ -65,10 +68,10 @@ export default function HomePage() {
   // 이벤트 핸들러 : 사용자의 행동(클릭 등)에 반응하는 함수
 
   // 로그아웃 처리
-  const handleLogout = () => {
+  const handleLogout = async () => {
     // JWT 방식 로그아웃
-    // 클라이언트(브라우저)에 저장된 토큰만 삭제
-    localStorage.removeItem('accessToken');
+    // 서버에서 refresh 토큰의 세션을 폐기하고, 브라우저에 저장된 access/refresh 토큰 삭제
+    await logout();
     router.push('/login');
   };
   
@@ -78,6 +81,7 @@ export default function HomePage() {
       setLoading(true);
       const tripsResponse = await apiClient.get('/api/trips/my');
       setTrips(tripsResponse.data);
+      setNextCursor(tripsResponse.headers['x-next-cursor'] ?? null);
     } catch (error) {
       console.error("여행 목록 새로고침 실패:", error);
     } finally {
@@ -85,6 +89,21 @@ export default function HomePage() {
     }
   };
 
+  // 다음 페이지 불러오기 (서버는 한 번에 일부만 주고, 다음 페이지가 있으면 X-Next-Cursor 헤더로 커서를 줌)
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const tripsResponse = await apiClient.get('/api/trips/my', { params: { cursor: nextCursor } });
+      setTrips((prev) => [...prev, ...tripsResponse.data]);
+      setNextCursor(tripsResponse.headers['x-next-cursor'] ?? null);
+    } catch (error) {
+      console.error("여행 목록 더 불러오기 실패:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // 로딩 화면
   if (loading || !user) {
     return (
@@ -123,6 +142,16 @@ export default function HomePage() {
               <p className="text-center text-gray-500 py-10">아직 등록된 여행이 없습니다.</p>
             )}
 
+            {/* 다음 페이지가 있을 때만 더 보기 버튼 */}
+            {nextCursor && (
+              <button
+                onClick={handleLoadMore}
+                disabled={loadingMore}
+                className="w-full py-2 text-sm text-gray-500 hover:text-sky-600 transition disabled:opacity-50">
+                {loadingMore ? '불러오는 중...' : '더 보기'}
+              </button>
+            )}
+
             {/* + 버튼을 누르면 모달 열림 스위치가 켜짐 */}
             <button
               onClick={() => setIsModalOpen(true)}
@@ -1,6 +1,6 @@
 "use client";
 
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useCallback } from 'react';
 import { useParams, useRouter } from 'next/navigation';
 import apiClient from '@/lib/api';
 import type { TripHeaderInfo, DailyScheduleData, TripNote, TripTip } from '@/types/db';
@@ -14,6 +14,18 @@ interface TripDetailDataFromApi {
   tripTips: TripTip[];
 }
 
+// 백엔드 AiDto.JobStatusResponse (AI 일정 생성 작업 진행 상태)
+interface AiJobStatus {
+  tripId: string;
+  status: 'QUEUED' | 'RUNNING' | 'DONE' | 'FAILED';
+  completedDays: number;
+  totalDays: number;
+  error: string | null;
+}
+
+// AI 일정 생성 진행 상태를 확인하는 간격 (ms)
+const AI_JOB_POLL_INTERVAL = 3000;
+
 export default function TripDetailPage() {
   const params = useParams();
   const router = useRouter();
@@ -22,56 +34,115 @@ export default function TripDetailPage() {
   // 상태의 타입은 API로부터 받은 데이터 타입으로 지정합니다.
   const [tripData, setTripData] = useState<TripDetailDataFromApi | null>(null);
   const [loading, setLoading] = useState(true);
+  const [aiJob, setAiJob] = useState<AiJobStatus | null>(null);
+  const [aiJobPollKey, setAiJobPollKey] = useState(0); // 바뀌면 진행 상태 확인을 다시 시작 (다시 생성 요청 후)
+
+  // 상세 정보 조회 (AI 일정이 새로 저장되었을 때도 다시 호출)
+  const fetchTripDetail = useCallback(async () => {
+    try {
+      // 백엔드 API를 호출
+      const response = await apiClient.get(`/api/trips/${tripId}`);
+      const data: TripDetailDataFromApi = response.data;
+      console.log("여행 상세 정보 응답:", data);
+
+      // 데이터를 화면에 그리기 전에 다시 정렬
+      // DB에 저장된 순서가 꼬여 있을 수 있기 때문
+      if (data.scheduleData) {
+        data.scheduleData.forEach((day) => {
+          if (day.plans) {
+            day.plans.sort((a: any, b: any) => {
+              // 1순위: displayOrder (순서 번호) 오름차순
+              const orderA = a.displayOrder ?? 999; // 없으면 맨 뒤로
+              const orderB = b.displayOrder ?? 999;
+              
+              if (orderA !== orderB) {
+                return orderA - orderB;
+              }
+
+              // 2순위 (번호가 같으면): 시작 시간(time) 오름차순
+              // 시간이 없으면(null) 맨 뒤로 보냄
+              const timeA = a.time || '23:59';
+              const timeB = b.time || '23:59';
+              return timeA.localeCompare(timeB);
+            });
+          }
+        });
+      }
+      setTripData(data);
+    } catch (error: any) {
+      console.error("여행 상세 정보 로드 실패:", error);
+      if (error.response?.status === 401 || error.response?.status === 403) {
+        alert("이 여행을 볼 권한이 없습니다. 다시 로그인해주세요.");
+        router.push('/login');
+      } else {
+        alert("여행 정보를 불러오는 데 실패했습니다.");
+      }
+    }
+  }, [tripId, router]);
 
   useEffect(() => {
     if (!tripId) return;
-    
-    const fetchTripDetail = async () => {
+    setLoading(true);
+    fetchTripDetail().finally(() => setLoading(false));
+  }, [tripId, fetchTripDetail]);
+
+  // AI 일정 생성 작업이 진행 중이면 주기적으로 상태를 확인하고,
+  // 저장된 날짜 수가 늘어나거나 작업이 끝나면 상세 정보를 다시 불러옴 (새로고침 없이 일정이 채워짐)
+  useEffect(() => {
+    if (!tripId) return;
+    let stopped = false;
+    let timer: ReturnType<typeof setTimeout> | undefined;
+    let lastCompletedDays = 0;
+
+    const poll = async () => {
       try {
-        setLoading(true);
-        // 백엔드 API를 호출
-        const response = await apiClient.get(`/api/trips/${tripId}`);
-        const data: TripDetailDataFromApi = response.data;
-        console.log("여행 상세 정보 응답:", data);
-
-        // 데이터를 화면에 그리기 전에 다시 정렬
-        // DB에 저장된 순서가 꼬여 있을 수 있기 때문
-        if (data.scheduleData) {
-          data.scheduleData.forEach((day) => {
-            if (day.plans) {
-              day.plans.sort((a: any, b: any) => {
-                // 1순위: displayOrder (순서 번호) 오름차순
-                const orderA = a.displayOrder ?? 999; // 없으면 맨 뒤로
-                const orderB = b.displayOrder ?? 999;
-                
-                if (orderA !== orderB) {
-                  return orderA - orderB;
-                }
-
-                // 2순위 (번호가 같으면): 시작 시간(time) 오름차순
-                // 시간이 없으면(null) 맨 뒤로 보냄
-                const timeA = a.time || '23:59';
-                const timeB = b.time || '23:59';
-                return timeA.localeCompare(timeB);
-              });
-            }
-          });
+        const response = await apiClient.get(`/api/trips/${tripId}/ai-job`);
+        if (stopped) return;
+        const job: AiJobStatus = response.data;
+        setAiJob(job);
+
+        const finished = job.status === 'DONE' || job.status === 'FAILED';
+        // (끝난 작업이면 한 번 더 불러옴 -> 변경이 없으면 ETag로 304만 받음)
+        if (job.completedDays !== lastCompletedDays || finished) {
+          await fetchTripDetail();
+        }
+        lastCompletedDays = job.completedDays;
+        if (!finished && !stopped) {
+          timer = setTimeout(poll, AI_JOB_POLL_INTERVAL);
         }
-        setTripData(data);
       } catch (error: any) {
-        console.error("여행 상세 정보 로드 실패:", error);
-        if (error.response?.status === 401 || error.response?.status === 403) {
-          alert("이 여행을 볼 권한이 없습니다. 다시 로그인해주세요.");
-          router.push('/login');
-        } else {
-          alert("여행 정보를 불러오는 데 실패했습니다.");
+        // 404: AI를 사용하지 않았거나 작업이 이미 정리됨 -> 확인 중단, 그 외 오류는 다음 주기에 다시 확인
+        if (error.response?.status !== 404 && !stopped) {
+          console.error("AI 일정 생성 상태 확인 실패:", error);
+          timer = setTimeout(poll, AI_JOB_POLL_INTERVAL);
         }
-      } finally {
-        setLoading(false);
       }
     };
-    fetchTripDetail();
-  }, [tripId, router]);
+    poll();
+
+    return () => {
+      stopped = true;
+      if (timer) clearTimeout(timer);
+    };
+  }, [tripId, fetchTripDetail, aiJobPollKey]);
+
+  // AI 일정 다시 생성 요청 (실패한 작업만, AI 일정이 없는 날짜만 다시 생성)
+  const handleRetryAiJob = async () => {
+    try {
+      const response = await apiClient.post(`/api/trips/${tripId}/ai-job`);
+      setAiJob(response.data);
+      setAiJobPollKey((key) => key + 1);
+    } catch (error: any) {
+      console.error("AI 일정 다시 생성 요청 실패:", error);
+      if (error.response?.status === 503) {
+        alert("AI 일정 생성 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+      } else if (error.response?.status === 409) {
+        setAiJobPollKey((key) => key + 1); // 이미 진행 중이거나 끝남 -> 현재 상태를 다시 확인
+      } else {
+        alert("AI 일정 다시 생성 요청에 실패했습니다.");
+      }
+    }
+  };
 
   // 로딩 및 에러 UI 처리
   if (loading) {
@@ -95,6 +166,24 @@ export default function TripDetailPage() {
   // rawDays는 TripService에서 따로 만들어주지 않았으므로, 임시로 빈 배열을 넘겨줍니다.
   return (
     <main className="container mx-auto p-4">
+      {aiJob && (aiJob.status === 'QUEUED' || aiJob.status === 'RUNNING') && (
+        <div className="mb-4 flex items-center gap-3 rounded-xl bg-blue-50 px-4 py-3 text-blue-800">
+          <div className="w-5 h-5 border-2 border-blue-300 border-t-blue-600 rounded-full animate-spin"></div>
+          <span className="text-sm font-medium">
+            AI가 일정을 만들고 있어요 ({aiJob.completedDays}/{aiJob.totalDays}일)
+          </span>
+        </div>
+      )}
+      {aiJob?.status === 'FAILED' && (
+        <div className="mb-4 flex items-center justify-between gap-3 rounded-xl bg-red-50 px-4 py-3 text-sm text-red-700">
+          <span>AI 일정 생성에 실패했습니다. {aiJob.error}</span>
+          <button
+            onClick={handleRetryAiJob}
+            className="shrink-0 rounded-lg bg-red-600 px-3 py-1.5 font-medium text-white hover:bg-red-700">
+            다시 생성
+          </button>
+        </div>
+      )}
       <TripMainView data={{ ...tripData, rawDays: [] }} />
     </main>
   );
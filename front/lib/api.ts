@@ -32,4 +32,67 @@ apiClient.interceptors.request.use(
     return Promise.reject(error);
   }
 );
+
+//access 토큰 재발급 (refresh 토큰은 한 번 쓰면 폐기되므로 동시에 여러 요청이 실패해도 재발급은 한 번만)
+let refreshing: Promise<string | null> | null = null;
+const refreshAccessToken = (): Promise<string | null> => {
+  if (!refreshing) {
+    const refreshToken = localStorage.getItem("refreshToken");
+    refreshing = (refreshToken
+      ? axios.post(`${apiClient.defaults.baseURL}/api/auth/refresh`, { refreshToken })
+          .then((resp) => {
+            localStorage.setItem("accessToken", resp.data.token);
+            localStorage.setItem("refreshToken", resp.data.refreshToken);
+            return resp.data.token as string;
+          })
+          .catch(() => {
+            //refresh 토큰도 만료/폐기됨 -> 다시 로그인해야 함
+            localStorage.removeItem("accessToken");
+            localStorage.removeItem("refreshToken");
+            return null;
+          })
+      : Promise.resolve(null)
+    ).finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+};
+
+//로그아웃: 서버에서 이 세션의 토큰을 모두 폐기한 뒤 브라우저에 저장된 토큰도 삭제
+//(서버 요청이 실패해도 브라우저의 토큰은 지움)
+export const logout = async () => {
+  const refreshToken = localStorage.getItem("refreshToken");
+  try {
+    if (refreshToken) {
+      await axios.post(`${apiClient.defaults.baseURL}/api/auth/logout`, { refreshToken });
+    }
+  } catch {
+    //이미 만료/폐기된 토큰이면 무시
+  } finally {
+    localStorage.removeItem("accessToken");
+    localStorage.removeItem("refreshToken");
+  }
+};
+
+//응답 인터셉터 설정
+//인증 실패(401)면 refresh 토큰으로 새 토큰을 받아서 원래 요청을 한 번만 다시 보냄
+//(403은 권한이 없는 것이므로 토큰을 새로 받아도 결과가 같음 -> 재발급하지 않음)
+apiClient.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    const status = error.response?.status;
+    if (status === 401 && original && !original._retried
+        && !original.url?.startsWith("/api/auth/")) {
+      original._retried = true;
+      const token = await refreshAccessToken();
+      if (token) {
+        original.headers["Authorization"] = `Bearer ${token}`;
+        return apiClient(original);
+      }
+    }
+    return Promise.reject(error);
+  }
+);
 export default apiClient;
\ No newline at end of file